@@ -0,0 +1,79 @@
+package com.example.wordlegame;
+
+/**
+ * Finds the words closest to a set of constraints, relaxing them in tiers
+ * The strict tiers are bitset queries on the index of each list. Only if both
+ * are empty is the selected list scanned, once, for the relaxed tiers: a word
+ * in a better tier than the best seen so far restarts the result, so the
+ * result always holds the best non-empty tier and no scan needs a retry.
+ */
+public final class CandidateQuery {
+
+    public static final int TIER_STRICT = 0;          // Matches all feedback, selected list
+    public static final int TIER_OTHER_LIST = 1;      // Matches all feedback, other list
+    public static final int TIER_KNOWN_POSITIONS = 2; // Keeps the letters whose position is known, selected list
+    public static final int TIER_ANY = 3;             // Any word of the selected list
+
+    private final WordCorpus corpus;
+    private int tier = TIER_ANY;
+
+    /**
+     * Constructor
+     * @param corpus The corpus to search
+     */
+    public CandidateQuery(WordCorpus corpus) {
+        this.corpus = corpus;
+    }
+
+    /**
+     * Collects the ids of the words in the best non-empty tier
+     * @param constraints Feedback constraints
+     * @param isHard Whether the hard list is the selected list
+     * @param out Receives the word ids, at least {@link WordCorpus#size()} long
+     * @return Number of ids written, 0 only if the selected list is empty
+     */
+    public int run(WordConstraints constraints, boolean isHard, int[] out) {
+        // Words matching all feedback come straight from the bitset index of each list
+        int count = queryIndex(constraints, isHard, out);
+        if (count > 0) {
+            tier = TIER_STRICT;
+            return count;
+        }
+        count = queryIndex(constraints, !isHard, out);
+        if (count > 0) {
+            tier = TIER_OTHER_LIST;
+            return count;
+        }
+
+        int firstSelected = corpus.getFirstWordId(isHard);
+        int endSelected = firstSelected + corpus.getIndex(isHard).size();
+
+        int best = TIER_ANY + 1;
+        for (int wordId = firstSelected; wordId < endSelected; wordId++) {
+            int wordTier = constraints.matchesKnownPositions(corpus.getPackedWord(wordId))
+                    ? TIER_KNOWN_POSITIONS : TIER_ANY;
+            if (wordTier < best) {
+                best = wordTier;
+                count = 0;
+            }
+            if (wordTier == best) {
+                out[count++] = wordId;
+            }
+        }
+
+        tier = count > 0 ? best : TIER_ANY;
+        return count;
+    }
+
+    private int queryIndex(WordConstraints constraints, boolean isHard, int[] out) {
+        return WordIndex.getIndexes(corpus.getIndex(isHard).query(constraints), corpus.getFirstWordId(isHard), out);
+    }
+
+    /**
+     * Gets the tier of the last {@link #run} result
+     * @return One of the TIER_ constants
+     */
+    public int getTier() {
+        return tier;
+    }
+}
@@ -6,6 +6,6 @@ import retrofit2.http.GET;
 import retrofit2.http.Path;
 
 public interface DictionaryApiService {
-    @GET("https://api.dictionaryapi.dev/api/v2/entries/en/{word}")
+    @GET("entries/en/{word}")
     Call<List<DictionaryResponse>> getWordDefinition(@Path("word") String word);
 }
\ No newline at end of file
@@ -0,0 +1,210 @@
+package com.example.wordlegame;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Scheduler in front of {@link DictionaryApiService}
+ * Caps the number of concurrent lookups, spaces out request starts and
+ * coalesces lookups of a word that is already queued or in flight into one call
+ */
+public class DictionaryFetchScheduler {
+
+    /**
+     * Callback for the result of a lookup
+     */
+    public interface FetchCallback {
+        /**
+         * Called when the API answered
+         * @param word The word that was looked up
+         * @param validWord The word returned by the API, or null if it is not a word
+         */
+        void onResult(String word, String validWord);
+
+        /**
+         * Called when the lookup failed without an answer, e.g. no network
+         */
+        void onError(String word, Throwable error);
+    }
+
+    private static final int HTTP_NOT_FOUND = 404;
+
+    private final DictionaryApiService apiService;
+    private final int maxConcurrent;
+    private final long minIntervalMs;
+    private final ScheduledExecutorService timer;
+
+    // All state below is guarded by this
+    private final ArrayDeque<String> queue = new ArrayDeque<>();
+    private final Map<String, List<FetchCallback>> waiting = new HashMap<>(); // Queued or in flight
+    private int inFlight;
+    private long nextStartAt;
+    private boolean dispatchScheduled;
+    private long succeeded;
+    private long failed;
+
+    /**
+     * Constructor
+     * @param apiService Service used for lookups
+     * @param maxConcurrent Maximum number of lookups in flight at once
+     * @param minIntervalMs Minimum time between two request starts
+     */
+    public DictionaryFetchScheduler(DictionaryApiService apiService, int maxConcurrent, long minIntervalMs) {
+        this.apiService = apiService;
+        this.maxConcurrent = maxConcurrent;
+        this.minIntervalMs = minIntervalMs;
+        this.timer = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    /**
+     * Looks up a word, sharing the call with any pending lookup of the same word
+     * @param word The word to look up, letter case is ignored
+     * @param callback Callback for the result, may be null
+     */
+    public void fetch(String word, FetchCallback callback) {
+        String key = word.toLowerCase(Locale.ROOT);
+        synchronized (this) {
+            List<FetchCallback> callbacks = waiting.get(key);
+            if (callbacks == null) {
+                callbacks = new ArrayList<>();
+                waiting.put(key, callbacks);
+                queue.add(key);
+            }
+            if (callback != null) {
+                callbacks.add(callback);
+            }
+        }
+        dispatch();
+    }
+
+    /**
+     * Checks if a word is queued or in flight
+     */
+    public synchronized boolean isPending(String word) {
+        return waiting.containsKey(word.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Gets the number of lookups waiting for a free slot
+     */
+    public synchronized int getQueuedCount() {
+        return queue.size();
+    }
+
+    /**
+     * Gets the number of lookups currently in flight
+     */
+    public synchronized int getInFlightCount() {
+        return inFlight;
+    }
+
+    /**
+     * Gets the number of lookups the API answered, whether or not the word exists
+     */
+    public synchronized long getSucceededCount() {
+        return succeeded;
+    }
+
+    /**
+     * Gets the number of lookups that failed without an answer
+     */
+    public synchronized long getFailedCount() {
+        return failed;
+    }
+
+    /**
+     * Stops the rate limit timer, queued lookups are dropped
+     */
+    public void shutdown() {
+        timer.shutdownNow();
+    }
+
+    /**
+     * Starts as many queued lookups as the concurrency and rate limits allow
+     */
+    private void dispatch() {
+        List<String> toStart = new ArrayList<>();
+        synchronized (this) {
+            long now = System.currentTimeMillis();
+            while (inFlight < maxConcurrent && !queue.isEmpty()) {
+                if (now < nextStartAt) {
+                    if (!dispatchScheduled && !timer.isShutdown()) {
+                        dispatchScheduled = true;
+                        timer.schedule(() -> {
+                            synchronized (DictionaryFetchScheduler.this) {
+                                dispatchScheduled = false;
+                            }
+                            dispatch();
+                        }, nextStartAt - now, TimeUnit.MILLISECONDS);
+                    }
+                    break;
+                }
+
+                toStart.add(queue.poll());
+                inFlight++;
+                nextStartAt = now + minIntervalMs;
+            }
+        }
+
+        // Calls are started outside the lock
+        for (String word : toStart) {
+            start(word);
+        }
+    }
+
+    private void start(final String word) {
+        apiService.getWordDefinition(word).enqueue(new Callback<List<DictionaryResponse>>() {
+            @Override
+            public void onResponse(Call<List<DictionaryResponse>> call, Response<List<DictionaryResponse>> response) {
+                if (response.isSuccessful() && response.body() != null && !response.body().isEmpty()) {
+                    complete(word, response.body().get(0).getWord(), null);
+                } else if (response.code() == HTTP_NOT_FOUND) {
+                    complete(word, null, null);
+                } else {
+                    complete(word, null, new IllegalStateException("HTTP " + response.code()));
+                }
+            }
+
+            @Override
+            public void onFailure(Call<List<DictionaryResponse>> call, Throwable t) {
+                complete(word, null, t);
+            }
+        });
+    }
+
+    private void complete(String word, String validWord, Throwable error) {
+        List<FetchCallback> callbacks;
+        synchronized (this) {
+            inFlight--;
+            if (error == null) {
+                succeeded++;
+            } else {
+                failed++;
+            }
+            callbacks = waiting.remove(word);
+        }
+
+        if (callbacks != null) {
+            for (FetchCallback callback : callbacks) {
+                if (error == null) {
+                    callback.onResult(word, validWord);
+                } else {
+                    callback.onError(word, error);
+                }
+            }
+        }
+
+        dispatch();
+    }
+}
@@ -2,65 +2,116 @@ package com.example.wordlegame;
 
 import android.content.Context;
 import android.content.SharedPreferences;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
 import android.util.Log;
 
-import com.example.wordlegame.R;
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
 
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.io.File;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
 import retrofit2.Retrofit;
 import retrofit2.converter.gson.GsonConverterFactory;
 
 public class DictionaryManager {
     private static final String TAG = "DictionaryManager";
+    private static final int LATENCY_SAMPLES = 256;
+    private static final int LATENCY_LOG_INTERVAL = 50; // Log percentiles every 50 validations
     private static final String PREFS_NAME = "WordleDictionaryPrefs";
-    private static final String KEY_CACHED_WORDS = "cached_words";
+    private static final String KEY_CACHED_WORDS = "cached_words"; // Legacy Gson cache, migrated on load
+    private static final String LEARNED_WORDS_FILE = "learned_words.bin";
+    private static final String NEGATIVE_WORDS_FILE = "negative_words.bin";
+    private static final long NEGATIVE_CACHE_TTL_MS = TimeUnit.DAYS.toMillis(3); // Rejected words are retried after 3 days
+    private static final int FILTER_HEADROOM = 1024; // Learned words the filter has room for beyond those loaded
     private static final String KEY_LAST_UPDATE = "last_update";
     private static final long CACHE_VALIDITY_MS = TimeUnit.DAYS.toMillis(7); // Cache valid for 7 days
-
-    private static DictionaryManager instance;
+    private static final int RECENT_WORDS_TO_AVOID = 20;
+    private static final long PUBLISH_DELAY_MS = 500; // Batch learned words arriving close together
+    private static final int MAX_CONCURRENT_FETCHES = 4;
+    private static final long MIN_FETCH_INTERVAL_MS = 100;
+
+    private static Future<DictionaryManager> initFuture;
+    private static DictionaryManager instance; // Set once initialization finished, guarded by the class
+    private static final List<Runnable> readyListeners = new ArrayList<>();
     private final Context context;
     private final SharedPreferences prefs;
     private final Random random;
-    private final DictionaryApiService apiService;
-    private final Set<String> cachedWords;
-    private final Set<String> baseWords;
+    private final DictionaryFetchScheduler fetchScheduler;
+    private final LearnedWordStore learnedWordStore;
+    private final NegativeWordCache negativeCache;
+    private final WordCorpus corpus;
+    private final Handler mainHandler;
+    private final LatencyRecorder validationLatency = new LatencyRecorder(LATENCY_SAMPLES);
+
+    // Words learned from the API, not part of the corpus
+    private volatile DictionarySnapshot snapshot;
+    private volatile PackedWordBloomFilter knownWordsFilter; // Corpus plus learned words
+    private int filterCapacity; // Learned words the filter is sized for, guarded by writeLock
+    private final Object writeLock = new Object();
+    private int[] pendingWords = new int[16];
+    private int pendingCount;
+    private boolean publishScheduled;
+
+    private final WordSampler easyPool;
+    private final WordSampler hardPool; // Hard list plus words learned from the API
 
     private DictionaryManager(Context context) {
         this.context = context.getApplicationContext();
         this.prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
         this.random = new Random();
+        this.mainHandler = new Handler(Looper.getMainLooper());
 
         // Initialize Retrofit
+        long phaseStart = StartupTrace.begin("DictionaryManager.retrofit");
         Retrofit retrofit = new Retrofit.Builder()
                 .baseUrl("https://api.dictionaryapi.dev/api/v2/")
                 .addConverterFactory(GsonConverterFactory.create())
                 .build();
 
-        apiService = retrofit.create(DictionaryApiService.class);
+        // Every lookup goes through the scheduler, which caps and deduplicates requests
+        fetchScheduler = new DictionaryFetchScheduler(retrofit.create(DictionaryApiService.class),
+                MAX_CONCURRENT_FETCHES, MIN_FETCH_INTERVAL_MS);
+        StartupTrace.end("DictionaryManager.retrofit", phaseStart);
 
-        // Load base words from raw resources
-        baseWords = new HashSet<>();
-        loadWordsFromResource(R.raw.words_easy);
-        loadWordsFromResource(R.raw.words_hard);
+        // Base words come from the shared corpus instead of another copy of the raw lists
+        phaseStart = StartupTrace.begin("DictionaryManager.awaitCorpus");
+        corpus = WordCorpus.get(this.context);
+        StartupTrace.end("DictionaryManager.awaitCorpus", phaseStart);
 
         // Load cached words
-        cachedWords = loadCachedWords();
+        phaseStart = StartupTrace.begin("DictionaryManager.loadCache");
+        learnedWordStore = new LearnedWordStore(new File(this.context.getFilesDir(), LEARNED_WORDS_FILE));
+        snapshot = loadCachedWords();
+        negativeCache = new NegativeWordCache(new File(this.context.getFilesDir(), NEGATIVE_WORDS_FILE),
+                NEGATIVE_CACHE_TTL_MS);
+        StartupTrace.end("DictionaryManager.loadCache", phaseStart);
+
+        phaseStart = StartupTrace.begin("DictionaryManager.buildPools");
+        filterCapacity = snapshot.size() + FILTER_HEADROOM;
+        knownWordsFilter = buildKnownWordsFilter(snapshot, filterCapacity);
+
+        // Secret word pools per difficulty
+        easyPool = new WordSampler(corpus.getIndex(false).getPackedWords(), RECENT_WORDS_TO_AVOID, random);
+        hardPool = new WordSampler(corpus.getIndex(true).getPackedWords(), RECENT_WORDS_TO_AVOID, random);
+        for (int i = 0; i < snapshot.size(); i++) {
+            hardPool.add(snapshot.getWord(i));
+        }
+        StartupTrace.end("DictionaryManager.buildPools", phaseStart);
 
         // Check if we need to refresh the cache
         if (shouldRefreshCache()) {
@@ -68,48 +119,172 @@ public class DictionaryManager {
         }
     }
 
-    public static synchronized DictionaryManager getInstance(Context context) {
-        if (instance == null) {
-            instance = new DictionaryManager(context);
+    // Results of validateWordAsync
+    public static final int WORD_VALID = 0;
+    public static final int WORD_INVALID = 1;   // Rejected by the word lists or the dictionary API
+    public static final int WORD_UNCHECKED = 2; // The dictionary API could not be reached in time
+
+    /**
+     * Callback for {@link #validateWordAsync(CharSequence, long, ValidationCallback)}
+     */
+    public interface ValidationCallback {
+        /**
+         * Called on the main thread once the word is validated
+         * @param result One of WORD_VALID, WORD_INVALID and WORD_UNCHECKED
+         */
+        void onValidated(int result);
+    }
+
+    /**
+     * A validation started by {@link #validateWordAsync(CharSequence, long, ValidationCallback)}
+     */
+    public interface ValidationRequest {
+        /**
+         * Drops the validation, its callback is not called afterwards
+         * Must be called on the main thread. A running lookup still finishes,
+         * so its answer is learned for next time.
+         */
+        void cancel();
+    }
+
+    /**
+     * Starts initializing the dictionary on a background thread if it is not started yet
+     * Also starts loading the word corpus, so this is the only call needed at app start
+     * @return Future that completes once the dictionary is ready
+     */
+    public static synchronized Future<DictionaryManager> initialize(Context context) {
+        if (initFuture == null) {
+            final Context appContext = context.getApplicationContext();
+            WordCorpus.load(appContext);
+
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+            initFuture = executor.submit(new Callable<DictionaryManager>() {
+                @Override
+                public DictionaryManager call() {
+                    long start = StartupTrace.begin("DictionaryManager.init");
+                    DictionaryManager manager = new DictionaryManager(appContext);
+                    StartupTrace.end("DictionaryManager.init", start);
+                    onInitialized(manager);
+                    return manager;
+                }
+            });
+            executor.shutdown();
+        }
+        return initFuture;
+    }
+
+    private static void onInitialized(DictionaryManager manager) {
+        List<Runnable> listeners;
+        synchronized (DictionaryManager.class) {
+            instance = manager;
+            listeners = new ArrayList<>(readyListeners);
+            readyListeners.clear();
+        }
+        for (Runnable listener : listeners) {
+            manager.mainHandler.post(listener);
         }
-        return instance;
     }
 
-    private void loadWordsFromResource(int resourceId) {
+    /**
+     * Checks if the dictionary has finished initializing
+     */
+    public static synchronized boolean isReady() {
+        return instance != null;
+    }
+
+    /**
+     * Runs an action on the main thread once the dictionary is ready
+     * Runs it right away if it is ready already and this is called on the main thread
+     * @param context Any context, used to start initialization if needed
+     * @param onReady Action to run
+     */
+    public static void whenReady(Context context, Runnable onReady) {
+        DictionaryManager manager;
+        synchronized (DictionaryManager.class) {
+            manager = instance;
+            if (manager == null) {
+                readyListeners.add(onReady);
+            }
+        }
+
+        if (manager == null) {
+            initialize(context);
+        } else if (Looper.myLooper() == Looper.getMainLooper()) {
+            onReady.run();
+        } else {
+            manager.mainHandler.post(onReady);
+        }
+    }
+
+    /**
+     * Gets the dictionary, waiting for the background initialization if needed
+     * Prefer {@link #whenReady(Context, Runnable)} on the main thread
+     */
+    public static DictionaryManager getInstance(Context context) {
+        synchronized (DictionaryManager.class) {
+            if (instance != null) {
+                return instance;
+            }
+        }
+
         try {
-            InputStream inputStream = context.getResources().openRawResource(resourceId);
-            BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream));
-
-            String line;
-            while ((line = reader.readLine()) != null) {
-                line = line.trim().toLowerCase();
-                if (line.length() == 5) {
-                    baseWords.add(line);
-                }
+            return initialize(context).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while initializing dictionary", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to initialize dictionary", e.getCause());
+        }
+    }
+
+    private DictionarySnapshot loadCachedWords() {
+        int[] storedWords = learnedWordStore.load();
+        int[] legacyWords = loadLegacyCachedWords();
+
+        // Keep only learned words, older caches were seeded with the base words
+        int[] learnedWords = new int[storedWords.length + legacyWords.length];
+        int count = 0;
+        for (int packed : storedWords) {
+            if (packed >= 0 && !corpus.contains(packed)) {
+                learnedWords[count++] = packed;
             }
+        }
+        for (int packed : legacyWords) {
+            if (packed >= 0 && !corpus.contains(packed)) {
+                learnedWords[count++] = packed;
+            }
+        }
 
-            reader.close();
-            inputStream.close();
-        } catch (IOException e) {
-            Log.e(TAG, "Error loading words from resource", e);
+        DictionarySnapshot loaded = DictionarySnapshot.EMPTY.withWords(learnedWords, count);
+
+        // Rewrite the log once if it holds duplicates, base words or migrated entries
+        if (legacyWords.length > 0 || learnedWordStore.needsCompaction(loaded.size())) {
+            // The legacy cache is only dropped once the new log holding its words is in place
+            Runnable onCompacted = legacyWords.length > 0
+                    ? () -> prefs.edit().remove(KEY_CACHED_WORDS).apply()
+                    : null;
+            learnedWordStore.compact(loaded.toArray(), onCompacted);
         }
+        return loaded;
     }
 
-    private Set<String> loadCachedWords() {
+    /**
+     * Reads the Gson word cache written by earlier versions, if it is still around
+     */
+    private int[] loadLegacyCachedWords() {
         String cachedWordsJson = prefs.getString(KEY_CACHED_WORDS, null);
-        if (cachedWordsJson != null) {
-            Type type = new TypeToken<HashSet<String>>(){}.getType();
-            return new Gson().fromJson(cachedWordsJson, type);
+        if (cachedWordsJson == null) {
+            return new int[0];
         }
-        return new HashSet<>(baseWords); // Start with base words if no cache
-    }
 
-    private void saveCachedWords() {
-        String cachedWordsJson = new Gson().toJson(cachedWords);
-        prefs.edit()
-                .putString(KEY_CACHED_WORDS, cachedWordsJson)
-                .putLong(KEY_LAST_UPDATE, System.currentTimeMillis())
-                .apply();
+        Type type = new TypeToken<HashSet<String>>(){}.getType();
+        Set<String> words = new Gson().fromJson(cachedWordsJson, type);
+        int[] packedWords = new int[words.size()];
+        int i = 0;
+        for (String word : words) {
+            packedWords[i++] = PackedWord.pack(word);
+        }
+        return packedWords;
     }
 
     private boolean shouldRefreshCache() {
@@ -142,60 +317,239 @@ public class DictionaryManager {
         checkWord(testWord.toString());
     }
 
-    public void checkWord(String word) {
+    private void checkWord(String word) {
         if (word.length() != 5) {
             return;
         }
 
-        apiService.getWordDefinition(word).enqueue(new Callback<List<DictionaryResponse>>() {
-            @Override
-            public void onResponse(Call<List<DictionaryResponse>> call, Response<List<DictionaryResponse>> response) {
-                if (response.isSuccessful() && response.body() != null && !response.body().isEmpty()) {
-                    String validWord = response.body().get(0).getWord().toLowerCase();
-                    if (validWord.length() == 5) {
-                        cachedWords.add(validWord);
-                        saveCachedWords();
-                        Log.d(TAG, "Added new word to dictionary: " + validWord);
+        // Words the API rejected recently are not asked for again
+        if (negativeCache.contains(PackedWord.pack(word))) {
+            return;
+        }
+
+        fetchScheduler.fetch(word, fetchCallback);
+    }
+
+    private final DictionaryFetchScheduler.FetchCallback fetchCallback = new DictionaryFetchScheduler.FetchCallback() {
+        @Override
+        public void onResult(String word, String validWord) {
+            if (validWord == null) {
+                rejectWord(PackedWord.pack(word));
+                return;
+            }
+            int packed = PackedWord.pack(validWord);
+            if (packed != PackedWord.INVALID && !corpus.contains(packed) && !snapshot.contains(packed)) {
+                learnWord(packed);
+                Log.d(TAG, "Added new word to dictionary: " + validWord);
+            }
+        }
+
+        @Override
+        public void onError(String word, Throwable error) {
+            Log.e(TAG, "API call failed", error);
+        }
+    };
+
+    /**
+     * Queues a learned word, published with any others arriving within {@link #PUBLISH_DELAY_MS}
+     */
+    private void learnWord(int packed) {
+        synchronized (writeLock) {
+            if (pendingCount == pendingWords.length) {
+                pendingWords = Arrays.copyOf(pendingWords, pendingCount * 2);
+            }
+            pendingWords[pendingCount++] = packed;
+            schedulePublish();
+        }
+    }
+
+    /**
+     * Remembers a word the API rejected, saved with the next publish
+     */
+    private void rejectWord(int packed) {
+        negativeCache.add(packed);
+        synchronized (writeLock) {
+            schedulePublish();
+        }
+    }
+
+    private void schedulePublish() {
+        if (!publishScheduled) {
+            publishScheduled = true;
+            mainHandler.postDelayed(this::publishPendingWords, PUBLISH_DELAY_MS);
+        }
+    }
+
+    /**
+     * Publishes queued words as a new snapshot and appends them to the log in one write
+     */
+    private void publishPendingWords() {
+        DictionarySnapshot previous;
+        DictionarySnapshot next;
+        synchronized (writeLock) {
+            previous = snapshot;
+            next = previous.withWords(pendingWords, pendingCount);
+            if (next != previous) {
+                // A reader racing this publish at worst asks the API once more
+                if (next.size() > filterCapacity) {
+                    // Past its capacity the false positive rate keeps climbing, so the filter is rebuilt larger
+                    while (filterCapacity < next.size()) {
+                        filterCapacity *= 2;
                     }
+                    knownWordsFilter = buildKnownWordsFilter(next, filterCapacity);
+                } else {
+                    knownWordsFilter = knownWordsFilter.withWords(pendingWords, pendingCount);
                 }
             }
+            pendingCount = 0;
+            publishScheduled = false;
+            snapshot = next;
+        }
 
-            @Override
-            public void onFailure(Call<List<DictionaryResponse>> call, Throwable t) {
-                Log.e(TAG, "API call failed", t);
+        negativeCache.save();
+
+        if (next == previous) {
+            return;
+        }
+
+        int[] addedWords = new int[next.size() - previous.size()];
+        int addedCount = 0;
+        for (int i = 0; i < next.size(); i++) {
+            if (!previous.contains(next.getWord(i))) {
+                hardPool.add(next.getWord(i));
+                addedWords[addedCount++] = next.getWord(i);
             }
-        });
+        }
+
+        // Only the new words are written, appended to the log
+        learnedWordStore.append(addedWords, addedCount);
+        prefs.edit().putLong(KEY_LAST_UPDATE, System.currentTimeMillis()).apply();
     }
 
+    /**
+     * Builds the filter over the corpus and the learned words
+     * @param learnedCapacity Number of learned words to size it for, at least the snapshot's size
+     */
+    private PackedWordBloomFilter buildKnownWordsFilter(DictionarySnapshot learned, int learnedCapacity) {
+        return PackedWordBloomFilter.of(learnedCapacity - learned.size(),
+                corpus.getIndex(false).getPackedWords(), corpus.getIndex(true).getPackedWords(), learned.toArray());
+    }
+
+    /**
+     * Picks a random secret word, avoiding recently played ones
+     * @param isHard Whether to pick from the hard list and learned words instead of the easy list
+     * @return A random 5-letter word
+     */
     public String getRandomWord(boolean isHard) {
-        List<String> wordsList = new ArrayList<>(cachedWords);
+        WordSampler pool = isHard ? hardPool : easyPool;
+        int packed = pool.pick();
 
-        if (wordsList.isEmpty()) {
-            wordsList.addAll(baseWords); // Fallback to base words
+        if (packed == PackedWord.INVALID) {
+            packed = (isHard ? easyPool : hardPool).pick(); // Fallback to the other list
         }
 
-        return wordsList.get(random.nextInt(wordsList.size()));
+        return PackedWord.unpack(packed);
     }
 
-    public boolean isValidWord(String word) {
-        // Check our local cache first
-        if (cachedWords.contains(word.toLowerCase())) {
-            return true;
+    /**
+     * Validates a word without blocking the calling thread
+     * Known and recently rejected words are answered at once. Other words are
+     * looked up with the dictionary API, and only a definite answer from it
+     * makes a word invalid. A failed lookup, or one still running after the
+     * timeout, leaves the word unchecked; a late answer is learned for next time.
+     * @param word The word to check
+     * @param timeoutMs Longest wait for the dictionary API
+     * @param callback Callback for the result, always called on the main thread
+     * @return The validation, to cancel it if the guess changes before the answer
+     */
+    public ValidationRequest validateWordAsync(CharSequence word, long timeoutMs, ValidationCallback callback) {
+        final PendingValidation pending = new PendingValidation(callback);
+
+        int packed = PackedWord.pack(word);
+        if (packed == PackedWord.INVALID || negativeCache.contains(packed)) {
+            pending.deliver(WORD_INVALID);
+            return pending;
+        }
+        if (knownWordsFilter.mightContain(packed) && (corpus.contains(packed) || snapshot.contains(packed))) {
+            pending.deliver(WORD_VALID);
+            return pending;
         }
 
-        // If not in cache, check base words
-        if (baseWords.contains(word.toLowerCase())) {
-            return true;
+        fetchScheduler.fetch(PackedWord.unpack(packed), new DictionaryFetchScheduler.FetchCallback() {
+            @Override
+            public void onResult(String word, String validWord) {
+                fetchCallback.onResult(word, validWord);
+                pending.deliver(validWord != null ? WORD_VALID : WORD_INVALID);
+            }
+
+            @Override
+            public void onError(String word, Throwable error) {
+                fetchCallback.onError(word, error);
+                pending.deliver(WORD_UNCHECKED);
+            }
+        });
+        mainHandler.postDelayed(pending, timeoutMs);
+        return pending;
+    }
+
+    /**
+     * Gets the latency of {@link #validateWordAsync(CharSequence, long, ValidationCallback)} calls
+     */
+    public LatencyRecorder getValidationLatency() {
+        return validationLatency;
+    }
+
+    /**
+     * One validation waiting for its answer, whichever of the API and the timeout comes first
+     */
+    private class PendingValidation implements Runnable, ValidationRequest {
+        private final ValidationCallback callback;
+        private final long startTime;
+        private boolean delivered; // Only touched on the main thread
+
+        PendingValidation(ValidationCallback callback) {
+            this.callback = callback;
+            this.startTime = SystemClock.elapsedRealtime();
+        }
+
+        /**
+         * Delivers the answer on the main thread, unless one was delivered already
+         */
+        void deliver(final int result) {
+            if (Looper.myLooper() != Looper.getMainLooper()) {
+                mainHandler.post(() -> deliver(result));
+                return;
+            }
+            if (delivered) {
+                return;
+            }
+            delivered = true;
+            mainHandler.removeCallbacks(this);
+
+            validationLatency.record(SystemClock.elapsedRealtime() - startTime);
+            if (validationLatency.getTotalCount() % LATENCY_LOG_INTERVAL == 0) {
+                Log.d(TAG, "Validation latency " + validationLatency.summary());
+            }
+            callback.onValidated(result);
         }
 
-        // If not found, query API (will add to cache if valid)
-        checkWord(word);
+        @Override
+        public void cancel() {
+            delivered = true;
+            mainHandler.removeCallbacks(this);
+        }
 
-        // Return false for now, we'll add it to cache for next time if valid
-        return false;
+        @Override
+        public void run() {
+            // Timed out before the API answered
+            deliver(WORD_UNCHECKED);
+        }
     }
 
-    public Set<String> getAllWords() {
-        return new HashSet<>(cachedWords);
+    /**
+     * Gets the scheduler used for dictionary lookups, e.g. to read its counters
+     */
+    public DictionaryFetchScheduler getFetchScheduler() {
+        return fetchScheduler;
     }
 }
\ No newline at end of file
@@ -0,0 +1,84 @@
+package com.example.wordlegame;
+
+import java.util.Arrays;
+
+/**
+ * Immutable, versioned view of the words learned from the dictionary API
+ * Readers grab the current snapshot with one volatile read and never copy it.
+ * Writers publish a new snapshot with a higher version, so anything derived
+ * from a snapshot can be cached against {@link #getVersion()}.
+ */
+public final class DictionarySnapshot {
+
+    public static final DictionarySnapshot EMPTY = new DictionarySnapshot(0, new int[0]);
+
+    private final long version;
+    private final int[] learnedWords; // Packed words, sorted
+    private final PackedWordSet learnedSet;
+
+    private DictionarySnapshot(long version, int[] learnedWords) {
+        this.version = version;
+        this.learnedWords = learnedWords;
+        this.learnedSet = PackedWordSet.of(learnedWords);
+    }
+
+    /**
+     * Creates the next version with the given words added
+     * @param addedWords Packed words to add, duplicates are ignored
+     * @param count Number of entries of addedWords to use
+     * @return A new snapshot, or this one if nothing new was added
+     */
+    public DictionarySnapshot withWords(int[] addedWords, int count) {
+        int[] merged = Arrays.copyOf(learnedWords, learnedWords.length + count);
+        int size = learnedWords.length;
+        PackedWordSet seen = PackedWordSet.of(learnedWords);
+        for (int i = 0; i < count; i++) {
+            if (seen.add(addedWords[i])) {
+                merged[size++] = addedWords[i];
+            }
+        }
+
+        if (size == learnedWords.length) {
+            return this;
+        }
+
+        merged = Arrays.copyOf(merged, size);
+        Arrays.sort(merged);
+        return new DictionarySnapshot(version + 1, merged);
+    }
+
+    /**
+     * Gets the version, incremented by every published change
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Checks if a packed word was learned
+     */
+    public boolean contains(int packed) {
+        return learnedSet.contains(packed);
+    }
+
+    /**
+     * Gets the number of learned words
+     */
+    public int size() {
+        return learnedWords.length;
+    }
+
+    /**
+     * Gets the learned packed word at the given index, in sorted order
+     */
+    public int getWord(int index) {
+        return learnedWords[index];
+    }
+
+    /**
+     * Copies the learned packed words, in sorted order
+     */
+    public int[] toArray() {
+        return learnedWords.clone();
+    }
+}
@@ -49,6 +49,7 @@ public class EmojiGameFragment extends Fragment implements KeyboardAdapter.OnKey
     private Handler timerHandler;
     private Runnable timerRunnable;
     private boolean gameActive;
+    private final GameEventLog eventLog = new GameEventLog(); // Guesses so far, saved when the game ends
 
     private GameActivity gameActivity;
     private EmojiMapper emojiMapper;
@@ -121,7 +122,7 @@ public class EmojiGameFragment extends Fragment implements KeyboardAdapter.OnKey
     }
 
     private void setupBoardAdapter() {
-        boardAdapter = new WordleRowAdapter(guesses, WORD_LENGTH, new ArrayList<>());
+        boardAdapter = new WordleRowAdapter(guesses, WORD_LENGTH);
         boardRecyclerView.setLayoutManager(new GridLayoutManager(getContext(), 1));
         boardRecyclerView.setAdapter(boardAdapter);
     }
@@ -196,6 +197,7 @@ public class EmojiGameFragment extends Fragment implements KeyboardAdapter.OnKey
 
     private void addCharacter(String character) {
         if (currentColumn < WORD_LENGTH) {
+            eventLog.keyPressed();
             String currentGuess = guesses.get(currentAttempt);
             StringBuilder newGuess = new StringBuilder(currentGuess);
             newGuess.setCharAt(currentColumn, character.charAt(0));
@@ -208,6 +210,7 @@ public class EmojiGameFragment extends Fragment implements KeyboardAdapter.OnKey
     private void deleteCharacter() {
         if (currentColumn > 0) {
             currentColumn--;
+            eventLog.keyPressed();
             String currentGuess = guesses.get(currentAttempt);
             StringBuilder newGuess = new StringBuilder(currentGuess);
             newGuess.setCharAt(currentColumn, ' ');
@@ -226,16 +229,20 @@ public class EmojiGameFragment extends Fragment implements KeyboardAdapter.OnKey
         String guess = guesses.get(currentAttempt).trim().toLowerCase();
 
         // Process the guess
-        List<Integer> results = checkGuess(guess);
-        boardAdapter.setRowResult(currentAttempt, results);
+        int packedGuess = PackedWord.pack(guess);
+        int pattern = WordleScorer.score(packedGuess, PackedWord.pack(currentWord));
+        boardAdapter.setRowResult(currentAttempt, pattern);
         boardAdapter.notifyItemChanged(currentAttempt);
 
         // Update keyboard colors
-        keyboardAdapter.updateKeyboardState(guess, results);
+        keyboardAdapter.updateKeyboardState(packedGuess, pattern);
         keyboardAdapter.notifyDataSetChanged();
 
+        // Record the guess, it is only written to the database when the game ends
+        eventLog.add(packedGuess, pattern);
+
         // Check for win
-        if (guess.equalsIgnoreCase(currentWord)) {
+        if (pattern == WordleScorer.ALL_CORRECT) {
             endGame(true);
             return;
         }
@@ -254,28 +261,6 @@ public class EmojiGameFragment extends Fragment implements KeyboardAdapter.OnKey
         updateAttemptsText();
     }
 
-    private List<Integer> checkGuess(String guess) {
-        List<Integer> results = new ArrayList<>();
-
-        for (int i = 0; i < WORD_LENGTH; i++) {
-            char guessChar = Character.toLowerCase(guess.charAt(i));
-            char targetChar = Character.toLowerCase(currentWord.charAt(i));
-
-            if (guessChar == targetChar) {
-                // Correct letter, correct position
-                results.add(2);
-            } else if (currentWord.toLowerCase().indexOf(guessChar) != -1) {
-                // Correct letter, wrong position
-                results.add(1);
-            } else {
-                // Letter not in word
-                results.add(0);
-            }
-        }
-
-        return results;
-    }
-
     private void endGame(boolean isWin) {
         gameActive = false;
         stopTimer();
@@ -291,7 +276,7 @@ public class EmojiGameFragment extends Fragment implements KeyboardAdapter.OnKey
 
         // Notify activity of game completion
         if (gameActivity != null) {
-            gameActivity.onGameComplete(result);
+            gameActivity.onGameComplete(result, eventLog);
         }
     }
 
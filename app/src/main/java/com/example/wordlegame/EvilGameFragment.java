@@ -7,6 +7,7 @@ import android.os.SystemClock;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
+import android.widget.Button;
 import android.widget.TextView;
 import android.widget.Toast;
 
@@ -18,6 +19,7 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 
 /**
  * Fragment for the Evil Wordle game mode where the word changes after each guess
@@ -31,6 +33,7 @@ public class EvilGameFragment extends Fragment implements KeyboardAdapter.OnKeyC
     private RecyclerView keyboardRecyclerView;
     private TextView timerTextView;
     private TextView attemptsTextView;
+    private Button hintButton;
 
     private WordleRowAdapter boardAdapter;
     private KeyboardAdapter keyboardAdapter;
@@ -45,9 +48,13 @@ public class EvilGameFragment extends Fragment implements KeyboardAdapter.OnKeyC
     private Handler timerHandler;
     private Runnable timerRunnable;
     private boolean gameActive;
+    private boolean validatingGuess; // A submitted guess is being checked, editing it cancels the check
+    private DictionaryManager.ValidationRequest pendingValidation;
+    private final GameEventLog eventLog = new GameEventLog(); // Guesses so far, saved when the game ends
 
     private GameActivity gameActivity;
     private WordGenerator wordGenerator;
+    private HintRequester hints;
     private EvilWordleAlgorithm evilAlgorithm;
 
     @Nullable
@@ -65,6 +72,8 @@ public class EvilGameFragment extends Fragment implements KeyboardAdapter.OnKeyC
         keyboardRecyclerView = view.findViewById(R.id.recycler_keyboard);
         timerTextView = view.findViewById(R.id.text_timer);
         attemptsTextView = view.findViewById(R.id.text_attempts);
+        hintButton = view.findViewById(R.id.button_hint);
+        hintButton.setOnClickListener(v -> requestHint());
 
         // Get game mode from arguments
         if (getArguments() != null) {
@@ -93,6 +102,7 @@ public class EvilGameFragment extends Fragment implements KeyboardAdapter.OnKeyC
 
         // Initialize word generator and get secret word
         wordGenerator = new WordGenerator(requireContext());
+        hints = new HintRequester(HintSolver.get(wordGenerator.getCorpus()), hintButton, this::showHint);
         currentWord = wordGenerator.getRandomWord(false); // Start with an easy word
 
         // Initialize evil wordle algorithm
@@ -106,7 +116,7 @@ public class EvilGameFragment extends Fragment implements KeyboardAdapter.OnKeyC
     }
 
     private void setupBoardAdapter() {
-        boardAdapter = new WordleRowAdapter(guesses, WORD_LENGTH, new ArrayList<>());
+        boardAdapter = new WordleRowAdapter(guesses, WORD_LENGTH);
         boardRecyclerView.setLayoutManager(new GridLayoutManager(getContext(), 1));
         boardRecyclerView.setAdapter(boardAdapter);
     }
@@ -169,6 +179,13 @@ public class EvilGameFragment extends Fragment implements KeyboardAdapter.OnKeyC
         if (!gameActive) {
             return;
         }
+        if (validatingGuess) {
+            if (key.equals("ENTER")) {
+                return; // Already submitted, still being checked
+            }
+            cancelValidation(); // The player is editing the guess instead of waiting
+        }
+        hints.cancel();
 
         if (key.equals("ENTER")) {
             submitGuess();
@@ -181,26 +198,56 @@ public class EvilGameFragment extends Fragment implements KeyboardAdapter.OnKeyC
 
     private void addCharacter(String character) {
         if (currentColumn < WORD_LENGTH) {
+            eventLog.keyPressed();
             String currentGuess = guesses.get(currentAttempt);
             StringBuilder newGuess = new StringBuilder(currentGuess);
             newGuess.setCharAt(currentColumn, character.charAt(0));
             guesses.set(currentAttempt, newGuess.toString());
-            boardAdapter.notifyItemChanged(currentAttempt);
             currentColumn++;
+            updatePrefixHighlight();
+            boardAdapter.notifyItemChanged(currentAttempt);
         }
     }
 
     private void deleteCharacter() {
         if (currentColumn > 0) {
             currentColumn--;
+            eventLog.keyPressed();
             String currentGuess = guesses.get(currentAttempt);
             StringBuilder newGuess = new StringBuilder(currentGuess);
             newGuess.setCharAt(currentColumn, ' ');
             guesses.set(currentAttempt, newGuess.toString());
+            updatePrefixHighlight();
             boardAdapter.notifyItemChanged(currentAttempt);
         }
     }
 
+    private void updatePrefixHighlight() {
+        // Flag the row as soon as the typed letters cannot start a known word
+        boolean invalid = !wordGenerator.isValidPrefix(guesses.get(currentAttempt), currentColumn);
+        boardAdapter.setRowInvalid(currentAttempt, invalid);
+    }
+
+    private void requestHint() {
+        if (!gameActive || validatingGuess || hints.isPending()) {
+            return;
+        }
+        hints.request(evilAlgorithm.getCandidates());
+    }
+
+    private void showHint(String hint) {
+        if (!gameActive || !isAdded() || hint == null) {
+            return;
+        }
+
+        // Type the hint into the current row, the player still submits it
+        eventLog.keyPressed();
+        guesses.set(currentAttempt, hint.toUpperCase(Locale.ROOT));
+        currentColumn = WORD_LENGTH;
+        updatePrefixHighlight();
+        boardAdapter.notifyItemChanged(currentAttempt);
+    }
+
     private void submitGuess() {
         // Check if the guess is complete
         if (currentColumn != WORD_LENGTH) {
@@ -210,35 +257,62 @@ public class EvilGameFragment extends Fragment implements KeyboardAdapter.OnKeyC
 
         String guess = guesses.get(currentAttempt).trim();
 
-        // Check if the guess is a valid word
-        if (!wordGenerator.isValidWord(guess)) {
-            Toast.makeText(getContext(), getString(R.string.not_in_word_list), Toast.LENGTH_SHORT).show();
-            return;
+        // Check if the guess is a valid word, uncommon words may need a dictionary lookup
+        validatingGuess = true;
+        pendingValidation = wordGenerator.validateWordAsync(guess, result -> {
+            validatingGuess = false;
+            pendingValidation = null;
+            if (!gameActive || !isAdded()) {
+                return;
+            }
+
+            updateAttemptsText();
+            if (result == DictionaryManager.WORD_UNCHECKED) {
+                Toast.makeText(getContext(), getString(R.string.word_unchecked), Toast.LENGTH_SHORT).show();
+                return;
+            }
+            if (result == DictionaryManager.WORD_INVALID) {
+                Toast.makeText(getContext(), getString(R.string.not_in_word_list), Toast.LENGTH_SHORT).show();
+                return;
+            }
+            processGuess(guess);
+        });
+
+        // Show a pending state unless the answer was already known locally
+        if (validatingGuess) {
+            attemptsTextView.setText(R.string.checking_word);
+        } else {
+            pendingValidation = null;
         }
+    }
 
+    private void cancelValidation() {
+        validatingGuess = false;
+        pendingValidation.cancel();
+        pendingValidation = null;
+        updateAttemptsText();
+    }
+
+    private void processGuess(String guess) {
         // Process the guess using the evil algorithm
         EvilWordleAlgorithm.ProcessResult result = evilAlgorithm.processGuess(guess, currentWord);
-        List<Integer> resultCodes = result.getResultCodes();
+        int pattern = result.getPattern();
         currentWord = result.getNewWord(); // Update to the new evil word
 
         // Update board with results
-        boardAdapter.setRowResult(currentAttempt, resultCodes);
+        boardAdapter.setRowResult(currentAttempt, pattern);
         boardAdapter.notifyItemChanged(currentAttempt);
 
         // Update keyboard colors
-        keyboardAdapter.updateKeyboardState(guess, resultCodes);
+        int packedGuess = PackedWord.pack(guess);
+        keyboardAdapter.updateKeyboardState(packedGuess, pattern);
         keyboardAdapter.notifyDataSetChanged();
 
-        // Check if all positions are correct (a win)
-        boolean isWin = true;
-        for (Integer code : resultCodes) {
-            if (code != 2) {
-                isWin = false;
-                break;
-            }
-        }
+        // Record the guess, it is only written to the database when the game ends
+        eventLog.add(packedGuess, pattern);
 
-        if (isWin) {
+        // Check if all positions are correct (a win)
+        if (pattern == WordleScorer.ALL_CORRECT) {
             endGame(true);
             return;
         }
@@ -259,6 +333,7 @@ public class EvilGameFragment extends Fragment implements KeyboardAdapter.OnKeyC
 
     private void endGame(boolean isWin) {
         gameActive = false;
+        hints.cancel();
         stopTimer();
 
         // Create game result
@@ -272,7 +347,7 @@ public class EvilGameFragment extends Fragment implements KeyboardAdapter.OnKeyC
 
         // Notify activity of game completion
         if (gameActivity != null) {
-            gameActivity.onGameComplete(result);
+            gameActivity.onGameComplete(result, eventLog);
         }
     }
 
@@ -289,6 +364,9 @@ public class EvilGameFragment extends Fragment implements KeyboardAdapter.OnKeyC
     @Override
     public void onDetach() {
         super.onDetach();
+        if (hints != null) {
+            hints.cancel();
+        }
         gameActivity = null;
     }
 
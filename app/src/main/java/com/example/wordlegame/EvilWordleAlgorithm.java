@@ -1,175 +1,197 @@
 package com.example.wordlegame;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Map;
+import android.os.SystemClock;
+import android.util.Log;
+
+import java.util.Arrays;
 import java.util.Random;
-import java.util.Set;
 
 /**
  * Algorithm for Evil Wordle game mode
- * This class handles the logic for picking the most difficult valid word
- * after each guess to maximize the difficulty
+ * This class never commits to a secret word. After each guess it groups the
+ * remaining candidates by the feedback they would give and keeps the largest
+ * group, so the player learns as little as possible from every guess.
  */
 public class EvilWordleAlgorithm {
 
-    private final WordGenerator wordGenerator;
-    private List<String> possibleWords;
+    private static final String TAG = "EvilWordleAlgorithm";
+    private static final int MIN_CANDIDATES = 10; // Below this the other list is added to the pool
+    private static final int LATENCY_SAMPLES = 256;
+    private static final int LATENCY_LOG_INTERVAL = 50; // Log percentiles every 50 guesses
+
+    // Time to process one guess, shared by all games
+    private static final LatencyRecorder guessLatency = new LatencyRecorder(LATENCY_SAMPLES);
+
+    private final WordCorpus corpus;
     private final boolean isHardMode;
     private final Random random;
 
-    // Pattern tracking
-    private String currentPattern; // Pattern with dots for unknown letters
-    private Set<Character> excludedChars; // Letters that are not in the word
-    private Map<Character, List<Integer>> includedChars; // Letters in word but in wrong positions
+    // Corpus word ids; the first candidateCount are still consistent with every feedback given so far
+    private int[] candidates;
+    private int candidateCount;
+    private byte[] patterns; // Feedback of the current guess per candidate slot, reused for every guess
+
+    // Number of candidates per feedback pattern, reused for every guess
+    private final int[] bucketCounts = new int[WordleScorer.PATTERN_COUNT];
 
     /**
      * Constructor
      */
     public EvilWordleAlgorithm(WordGenerator wordGenerator, boolean isHardMode) {
-        this.wordGenerator = wordGenerator;
-        this.isHardMode = isHardMode;
-        this.random = new Random();
+        this(wordGenerator.getCorpus(), isHardMode, new Random());
+    }
 
-        // Initialize pattern tracking
-        currentPattern = "....."; // 5 dots for unknown letters
-        excludedChars = new HashSet<>();
-        includedChars = new HashMap<>();
+    /**
+     * Constructor
+     * @param corpus Words to choose from
+     * @param random Picks the secret word among the kept candidates
+     */
+    EvilWordleAlgorithm(WordCorpus corpus, boolean isHardMode, Random random) {
+        this.corpus = corpus;
+        this.isHardMode = isHardMode;
+        this.random = random;
 
         // Get initial possible words
-        resetPossibleWords();
+        resetCandidates();
     }
 
     /**
-     * Resets the possible words list to all valid words
+     * Resets the candidates to all words of the selected list
      */
-    private void resetPossibleWords() {
-        if (isHardMode) {
-            // Start with hard words
-            possibleWords = wordGenerator.getWordsMatchingPattern(currentPattern, excludedChars, includedChars, true);
-
-            // If not enough words, add easy words
-            if (possibleWords.size() < 10) {
-                possibleWords.addAll(wordGenerator.getWordsMatchingPattern(currentPattern, excludedChars, includedChars, false));
-            }
-        } else {
-            // Start with easy words
-            possibleWords = wordGenerator.getWordsMatchingPattern(currentPattern, excludedChars, includedChars, false);
+    private void resetCandidates() {
+        int firstId = corpus.getFirstWordId(isHardMode);
+        int count = corpus.getIndex(isHardMode).size();
+
+        // If not enough words, use both lists
+        if (count < MIN_CANDIDATES) {
+            firstId = 0;
+            count = corpus.size();
+        }
 
-            // If not enough words, add hard words
-            if (possibleWords.size() < 10) {
-                possibleWords.addAll(wordGenerator.getWordsMatchingPattern(currentPattern, excludedChars, includedChars, true));
-            }
+        candidates = new int[count];
+        for (int i = 0; i < count; i++) {
+            candidates[i] = firstId + i;
         }
+        candidateCount = count;
+        patterns = new byte[count];
     }
 
     /**
-     * Processes a guess and updates pattern constraints
+     * Processes a guess and narrows the candidates to the largest feedback bucket
      * @param guess The player's guess
-     * @param currentWord The current secret word
-     * @return Updated result codes and a new secret word
+     * @param currentWord The current secret word, only used if the guess is not a 5-letter word
+     * @return Feedback pattern and a new secret word consistent with all feedback so far
      */
     public ProcessResult processGuess(String guess, String currentWord) {
-        if (possibleWords.isEmpty()) {
-            resetPossibleWords();
+        long startTime = SystemClock.elapsedRealtime();
+        int packedGuess = PackedWord.pack(guess);
+        int pattern;
+        String newWord;
+
+        // The kept bucket is never empty, so there is always a candidate to choose from
+        if (packedGuess == PackedWord.INVALID) {
+            // Cannot be bucketed, score against the current word like a normal game
+            pattern = WordleScorer.score(packedGuess, PackedWord.pack(currentWord));
+            newWord = currentWord;
+        } else {
+            pattern = chooseBucket(packedGuess);
+            newWord = keepBucket(pattern);
         }
 
-        // Calculate result codes for current word
-        List<Integer> resultCodes = new ArrayList<>();
-        for (int i = 0; i < guess.length(); i++) {
-            char guessChar = Character.toLowerCase(guess.charAt(i));
-            char targetChar = Character.toLowerCase(currentWord.charAt(i));
-
-            if (guessChar == targetChar) {
-                // Correct letter, correct position
-                resultCodes.add(2);
-
-                // Update pattern with correct letter
-                StringBuilder pattern = new StringBuilder(currentPattern);
-                pattern.setCharAt(i, guessChar);
-                currentPattern = pattern.toString();
-            } else if (currentWord.toLowerCase().indexOf(guessChar) != -1) {
-                // Correct letter, wrong position
-                resultCodes.add(1);
-
-                // Add to included chars
-                if (!includedChars.containsKey(guessChar)) {
-                    includedChars.put(guessChar, new ArrayList<>());
-                }
-                includedChars.get(guessChar).add(i);
-            } else {
-                // Letter not in word
-                resultCodes.add(0);
-
-                // Add to excluded chars
-                excludedChars.add(guessChar);
+        guessLatency.record(SystemClock.elapsedRealtime() - startTime);
+        if (guessLatency.getTotalCount() % LATENCY_LOG_INTERVAL == 0) {
+            Log.d(TAG, "Evil guess latency " + guessLatency.summary());
+        }
+        return new ProcessResult(pattern, newWord);
+    }
+
+    /**
+     * Counts the candidates per feedback pattern in one pass of matrix lookups and picks the worst bucket for the player
+     * The largest bucket wins, ties go to the bucket giving away fewer hints.
+     * Solving outright is only allowed when the guess is the last candidate.
+     */
+    private int chooseBucket(int packedGuess) {
+        FeedbackMatrix.Row feedback = corpus.getFeedbackMatrix().getRow(packedGuess);
+        Arrays.fill(bucketCounts, 0);
+        for (int i = 0; i < candidateCount; i++) {
+            int pattern = feedback.score(candidates[i]);
+            patterns[i] = (byte) pattern;
+            bucketCounts[pattern]++;
+        }
+
+        int best = -1;
+        for (int pattern = 0; pattern < WordleScorer.PATTERN_COUNT; pattern++) {
+            int count = bucketCounts[pattern];
+            if (count == 0 || (pattern == WordleScorer.ALL_CORRECT && candidateCount > 1)) {
+                continue;
+            }
+            if (best < 0 || count > bucketCounts[best]
+                    || (count == bucketCounts[best]
+                        && WordleScorer.hintWeight(pattern) < WordleScorer.hintWeight(best))) {
+                best = pattern;
             }
         }
+        return best >= 0 ? best : WordleScorer.ALL_CORRECT;
+    }
 
-        // Update possible words based on the new constraints
-        List<String> newPossibleWords = wordGenerator.getWordsMatchingPattern(
-                currentPattern, excludedChars, includedChars, isHardMode);
-
-        // If we have no matching words, relax some constraints
-        if (newPossibleWords.isEmpty()) {
-            // Try with opposite difficulty
-            newPossibleWords = wordGenerator.getWordsMatchingPattern(
-                    currentPattern, excludedChars, includedChars, !isHardMode);
-
-            // If still empty, reset all constraints except pattern
-            if (newPossibleWords.isEmpty()) {
-                excludedChars.clear();
-                includedChars.clear();
-                newPossibleWords = wordGenerator.getWordsMatchingPattern(
-                        currentPattern, excludedChars, includedChars, isHardMode);
-
-                if (newPossibleWords.isEmpty()) {
-                    // Last resort: get word with just the correct positions
-                    newPossibleWords = wordGenerator.getWordsMatchingPattern(
-                            currentPattern, new HashSet<>(), new HashMap<>(), isHardMode);
-
-                    if (newPossibleWords.isEmpty()) {
-                        // Absolute last resort: any 5-letter word
-                        newPossibleWords.add(wordGenerator.getRandomWord(isHardMode));
-                    }
-                }
+    /**
+     * Keeps only the candidates in the given bucket, moving them to the front in place
+     * @return One of the kept candidates, picked at random, as the new secret word
+     */
+    private String keepBucket(int pattern) {
+        int keptCount = 0;
+        for (int i = 0; i < candidateCount; i++) {
+            if ((patterns[i] & 0xFF) == pattern) {
+                candidates[keptCount++] = candidates[i];
             }
         }
 
-        // Update possible words
-        possibleWords = newPossibleWords;
+        candidateCount = keptCount;
+        return PackedWord.unpack(corpus.getPackedWord(candidates[random.nextInt(candidateCount)]));
+    }
 
-        // Pick a new word from the possible words that maximizes difficulty
-        String newWord;
-        if (!possibleWords.isEmpty()) {
-            newWord = possibleWords.get(random.nextInt(possibleWords.size()));
-        } else {
-            newWord = wordGenerator.getRandomWord(isHardMode);
-        }
+    /**
+     * Copies the corpus ids of the words still consistent with every feedback given so far
+     */
+    public int[] getCandidates() {
+        return Arrays.copyOf(candidates, candidateCount);
+    }
+
+    /**
+     * Gets the time taken to process guesses, across all Evil games
+     */
+    public static LatencyRecorder getGuessLatency() {
+        return guessLatency;
+    }
 
-        return new ProcessResult(resultCodes, newWord);
+    /**
+     * Gets the number of words still consistent with every feedback given so far
+     */
+    public int getCandidateCount() {
+        return candidateCount;
     }
 
     /**
      * Class to hold the result of processing a guess
      */
     public static class ProcessResult {
-        private final List<Integer> resultCodes;
+        private final int pattern;
         private final String newWord;
 
-        ProcessResult(List<Integer> resultCodes, String newWord) {
-            this.resultCodes = resultCodes;
+        ProcessResult(int pattern, String newWord) {
+            this.pattern = pattern;
             this.newWord = newWord;
         }
 
-        public List<Integer> getResultCodes() {
-            return resultCodes;
+        /**
+         * Gets the feedback pattern, decoded with {@link WordleScorer#codeAt(int, int)}
+         */
+        public int getPattern() {
+            return pattern;
         }
 
         public String getNewWord() {
             return newWord;
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,133 @@
+package com.example.wordlegame;
+
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Feedback of every guess against every corpus word, looked up instead of scored
+ * Rows for corpus words come from the memory-mapped feedback.bin asset built by
+ * the buildFeedbackMatrix Gradle task. Rows for other guesses, such as words
+ * learned from the dictionary API, or for every guess if the asset does not
+ * match the loaded corpus, are computed on first use and kept in a small cache.
+ */
+public final class FeedbackMatrix {
+
+    public static final int MAGIC = 0x5746424B; // "WFBK"
+    public static final int VERSION = 1;
+    public static final int HEADER_BYTES = 16;
+
+    private static final int CACHED_ROWS = 64;
+
+    private final WordCorpus corpus;
+    private final ByteBuffer matrix; // Mapped asset positioned after the header, or null
+    private final int wordCount;
+    private final Map<Integer, byte[]> computedRows;
+
+    /**
+     * Constructor
+     * @param corpus The corpus whose word ids index the answers
+     * @param asset The mapped feedback.bin asset, or null if it is not available
+     */
+    public FeedbackMatrix(WordCorpus corpus, ByteBuffer asset) {
+        this.corpus = corpus;
+        this.wordCount = corpus.size();
+        this.matrix = matches(asset, corpus) ? sliceAfterHeader(asset) : null;
+        this.computedRows = new LinkedHashMap<Integer, byte[]>(CACHED_ROWS, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, byte[]> eldest) {
+                return size() > CACHED_ROWS;
+            }
+        };
+    }
+
+    /**
+     * Checks if the mapped asset is used, rather than computing every row on the device
+     */
+    public boolean isPrecomputed() {
+        return matrix != null;
+    }
+
+    /**
+     * Gets the feedback of one guess against every corpus word
+     * Costs a binary search for corpus words, then every lookup is a single byte read
+     * @param packedGuess The guess, packed with {@link PackedWord}
+     */
+    public Row getRow(int packedGuess) {
+        int guessId = corpus.getWordId(packedGuess);
+        if (matrix != null && guessId >= 0) {
+            return new Row(matrix, guessId * wordCount);
+        }
+        return new Row(ByteBuffer.wrap(getComputedRow(packedGuess)), 0);
+    }
+
+    /**
+     * Gets the feedback of a guess against one corpus word
+     * @param packedGuess The guess, packed with {@link PackedWord}
+     * @param answerId Id of the answer in the corpus
+     * @return The feedback pattern in 0..242, as from {@link WordleScorer#score(int, int)}
+     */
+    public int score(int packedGuess, int answerId) {
+        return getRow(packedGuess).score(answerId);
+    }
+
+    private synchronized byte[] getComputedRow(int packedGuess) {
+        byte[] row = computedRows.get(packedGuess);
+        if (row == null) {
+            row = new byte[wordCount];
+            for (int answerId = 0; answerId < wordCount; answerId++) {
+                row[answerId] = (byte) WordleScorer.score(packedGuess, corpus.getPackedWord(answerId));
+            }
+            computedRows.put(packedGuess, row);
+        }
+        return row;
+    }
+
+    /**
+     * Checks that the asset was built from the same words, in the same order, as the corpus
+     */
+    private static boolean matches(ByteBuffer asset, WordCorpus corpus) {
+        if (asset == null || asset.limit() < HEADER_BYTES) {
+            return false;
+        }
+
+        int wordCount = corpus.size();
+        int checksum = 0;
+        for (int wordId = 0; wordId < wordCount; wordId++) {
+            checksum = 31 * checksum + corpus.getPackedWord(wordId);
+        }
+
+        return asset.getInt(0) == MAGIC
+                && asset.getInt(4) == VERSION
+                && asset.getInt(8) == wordCount
+                && asset.getInt(12) == checksum
+                && asset.limit() - HEADER_BYTES >= (long) wordCount * wordCount;
+    }
+
+    private static ByteBuffer sliceAfterHeader(ByteBuffer asset) {
+        ByteBuffer copy = asset.duplicate();
+        copy.position(HEADER_BYTES);
+        return copy.slice();
+    }
+
+    /**
+     * Feedback of one guess against every corpus word
+     */
+    public static final class Row {
+        private final ByteBuffer bytes;
+        private final int offset;
+
+        Row(ByteBuffer bytes, int offset) {
+            this.bytes = bytes;
+            this.offset = offset;
+        }
+
+        /**
+         * Gets the feedback against the corpus word with the given id
+         * @return The feedback pattern in 0..242
+         */
+        public int score(int answerId) {
+            return bytes.get(offset + answerId) & 0xFF;
+        }
+    }
+}
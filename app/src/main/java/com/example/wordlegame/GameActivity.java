@@ -12,7 +12,7 @@ public class GameActivity extends BaseActivity {
 
     // Define the GameCompleteListener interface as a public interface
     public interface GameCompleteListener {
-        void onGameComplete(GameResult result);
+        void onGameComplete(GameResult result, GameEventLog eventLog);
     }
 
     private TextView gameModeTitleText;
@@ -34,7 +34,7 @@ public class GameActivity extends BaseActivity {
         exitGameButton = findViewById(R.id.button_exit_game);
 
         // Initialize repository and preference manager
-        repository = new WordleRepository(this);
+        repository = WordleRepository.getInstance(this);
         preferenceManager = new PreferenceManager(this);
 
         // Get selected game mode from intent
@@ -58,8 +58,15 @@ public class GameActivity extends BaseActivity {
             }
         });
 
-        // Load appropriate fragment based on game mode
-        loadGameFragment();
+        // Load appropriate fragment based on game mode once the dictionary is ready
+        DictionaryManager.whenReady(this, new Runnable() {
+            @Override
+            public void run() {
+                if (!isFinishing() && !isDestroyed()) {
+                    loadGameFragment();
+                }
+            }
+        });
     }
 
     private void loadGameFragment() {
@@ -90,15 +97,17 @@ public class GameActivity extends BaseActivity {
         // Replace container with the game fragment
         FragmentTransaction transaction = getSupportFragmentManager().beginTransaction();
         transaction.replace(R.id.fragment_container, gameFragment);
-        transaction.commit();
+        transaction.commitAllowingStateLoss(); // May run after a short wait for the dictionary
     }
 
     /**
      * Method called when game is completed
+     * @param result The result of the game
+     * @param eventLog The guesses of the game, saved along with the result
      */
-    public void onGameComplete(GameResult result) {
-        // Save game result to database
-        repository.saveGameResult(result);
+    public void onGameComplete(GameResult result, GameEventLog eventLog) {
+        // Save game result and its guesses in the background, the dialog does not wait for it
+        repository.saveGameResultAsync(result, eventLog);
 
         // Show game result dialog
         GameResultDialogFragment resultDialog = new GameResultDialogFragment();
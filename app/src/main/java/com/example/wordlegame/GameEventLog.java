@@ -0,0 +1,103 @@
+package com.example.wordlegame;
+
+import android.os.SystemClock;
+
+import java.util.Arrays;
+
+/**
+ * Guesses of one game, kept in memory until the game ends
+ * Adding a guess or a key only writes a few array slots, the whole log is
+ * saved with the game result in one transaction.
+ */
+public class GameEventLog {
+
+    private static final int INITIAL_CAPACITY = 6;
+
+    private int[] packedGuesses = new int[INITIAL_CAPACITY];
+    private int[] patterns = new int[INITIAL_CAPACITY];
+    private long[] timestamps = new long[INITIAL_CAPACITY];
+    private long[] typingTimes = new long[INITIAL_CAPACITY];
+    private int[][] keystrokeTimes = new int[INITIAL_CAPACITY][];
+    private int size;
+
+    // Keys of the guess being typed
+    private int[] keyDeltas = new int[INITIAL_CAPACITY * 2]; // Milliseconds since the previous key, 0 for the first
+    private int keyCount;
+    private long rowStartTime = -1; // Elapsed realtime of the first key of the current guess
+    private long lastKeyTime;
+
+    /**
+     * Records a key that changed the current guess, letters, deletes and filled-in hints alike
+     */
+    public void keyPressed() {
+        long now = SystemClock.elapsedRealtime();
+        if (rowStartTime < 0) {
+            rowStartTime = now;
+            lastKeyTime = now;
+        }
+        if (keyCount == keyDeltas.length) {
+            keyDeltas = Arrays.copyOf(keyDeltas, keyCount * 2);
+        }
+        keyDeltas[keyCount++] = (int) Math.min(now - lastKeyTime, Integer.MAX_VALUE);
+        lastKeyTime = now;
+    }
+
+    /**
+     * Records a scored guess, along with the keys typed for it
+     * @param packedGuess The guess, see {@link PackedWord}
+     * @param pattern The feedback, see {@link WordleScorer}
+     */
+    public void add(int packedGuess, int pattern) {
+        if (size == packedGuesses.length) {
+            int capacity = size * 2;
+            packedGuesses = Arrays.copyOf(packedGuesses, capacity);
+            patterns = Arrays.copyOf(patterns, capacity);
+            timestamps = Arrays.copyOf(timestamps, capacity);
+            typingTimes = Arrays.copyOf(typingTimes, capacity);
+            keystrokeTimes = Arrays.copyOf(keystrokeTimes, capacity);
+        }
+
+        packedGuesses[size] = packedGuess;
+        patterns[size] = pattern;
+        timestamps[size] = System.currentTimeMillis();
+        typingTimes[size] = rowStartTime >= 0 ? SystemClock.elapsedRealtime() - rowStartTime : 0;
+        keystrokeTimes[size] = Arrays.copyOf(keyDeltas, keyCount);
+        size++;
+        rowStartTime = -1;
+        keyCount = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getPackedGuess(int index) {
+        return packedGuesses[index];
+    }
+
+    public int getPattern(int index) {
+        return patterns[index];
+    }
+
+    /**
+     * @return Epoch milliseconds when the guess was submitted
+     */
+    public long getTimestamp(int index) {
+        return timestamps[index];
+    }
+
+    /**
+     * @return Milliseconds from the first key of the guess to its submission
+     */
+    public long getTypingTime(int index) {
+        return typingTimes[index];
+    }
+
+    /**
+     * @return Milliseconds between the keys of the guess, each since the previous key
+     *         and 0 for the first; must not be changed
+     */
+    public int[] getKeystrokeTimes(int index) {
+        return keystrokeTimes[index];
+    }
+}
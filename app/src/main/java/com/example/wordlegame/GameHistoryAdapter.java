@@ -72,7 +72,7 @@ public class GameHistoryAdapter extends ArrayAdapter<GameResult> {
         holder.timeText.setText("Time: " + result.getFormattedTime());
 
         // Set the date text
-        holder.dateText.setText(result.getDatePlayed());
+        holder.dateText.setText(result.getFormattedDate());
 
         return convertView;
     }
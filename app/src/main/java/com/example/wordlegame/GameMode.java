@@ -4,11 +4,37 @@ package com.example.wordlegame;
  * Enum representing different game modes in the Wordle game
  */
 public enum GameMode {
-    NORMAL_EASY,    // Normal Wordle with common words
-    NORMAL_HARD,    // Normal Wordle with more difficult words
-    TIMED,          // Timed mode with countdown for each guess
-    EVIL,           // Evil Wordle that changes word after each guess
-    EMOJI;          // Emoji-based Wordle game
+    NORMAL_EASY(0),    // Normal Wordle with common words
+    NORMAL_HARD(1),    // Normal Wordle with more difficult words
+    TIMED(2),          // Timed mode with countdown for each guess
+    EVIL(3),           // Evil Wordle that changes word after each guess
+    EMOJI(4);          // Emoji-based Wordle game
+
+    private final int code; // Stored in the database, never reuse or change a code
+
+    GameMode(int code) {
+        this.code = code;
+    }
+
+    /**
+     * Returns the code stored for this game mode in the database
+     */
+    public int getCode() {
+        return code;
+    }
+
+    /**
+     * Returns the game mode stored under a database code
+     * @throws IllegalArgumentException if no game mode has the code
+     */
+    public static GameMode fromCode(int code) {
+        for (GameMode mode : values()) {
+            if (mode.code == code) {
+                return mode;
+            }
+        }
+        throw new IllegalArgumentException("Unknown game mode code " + code);
+    }
 
     /**
      * Returns a user-friendly display name for the game mode
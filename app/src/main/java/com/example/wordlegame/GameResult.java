@@ -11,18 +11,20 @@ import java.util.Locale;
  */
 public class GameResult implements Parcelable {
 
+    // datePlayed of games migrated with an unreadable date
+    public static final long DATE_UNKNOWN = -1;
+
     private long id;
     private String word;
     private GameMode gameMode;
     private int timeTaken; // Time in seconds
     private int guessesUsed;
     private boolean isWin;
-    private String datePlayed;
+    private long datePlayed; // Epoch milliseconds
 
     public GameResult() {
         // Set default date to current date/time
-        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.getDefault());
-        this.datePlayed = sdf.format(new Date());
+        this.datePlayed = System.currentTimeMillis();
     }
 
     public GameResult(String word, GameMode gameMode, int timeTaken, int guessesUsed, boolean isWin) {
@@ -83,14 +85,23 @@ public class GameResult implements Parcelable {
         isWin = win;
     }
 
-    public String getDatePlayed() {
+    public long getDatePlayed() {
         return datePlayed;
     }
 
-    public void setDatePlayed(String datePlayed) {
+    public void setDatePlayed(long datePlayed) {
         this.datePlayed = datePlayed;
     }
 
+    // Format date for display, in the device's locale
+    public String getFormattedDate() {
+        if (datePlayed == DATE_UNKNOWN) {
+            return "Unknown date";
+        }
+        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.getDefault());
+        return sdf.format(new Date(datePlayed));
+    }
+
     // Format time as MM:SS
     public String getFormattedTime() {
         int minutes = timeTaken / 60;
@@ -106,7 +117,7 @@ public class GameResult implements Parcelable {
         timeTaken = in.readInt();
         guessesUsed = in.readInt();
         isWin = in.readByte() != 0;
-        datePlayed = in.readString();
+        datePlayed = in.readLong();
     }
 
     @Override
@@ -117,7 +128,7 @@ public class GameResult implements Parcelable {
         dest.writeInt(timeTaken);
         dest.writeInt(guessesUsed);
         dest.writeByte((byte) (isWin ? 1 : 0));
-        dest.writeString(datePlayed);
+        dest.writeLong(datePlayed);
     }
 
     @Override
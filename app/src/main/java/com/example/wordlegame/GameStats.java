@@ -0,0 +1,116 @@
+package com.example.wordlegame;
+
+import java.util.Locale;
+
+/**
+ * Model class for the statistics of one game mode
+ */
+public class GameStats {
+
+    public static final int MAX_GUESSES = 6;
+
+    private final GameMode gameMode;
+    private int gamesPlayed;
+    private int wins;
+    private long totalTime;     // Seconds, over all games
+    private int currentStreak;  // Wins in a row up to the latest game
+    private int maxStreak;
+    private final int[] winsInGuesses = new int[MAX_GUESSES]; // Index 0 for a win in one guess
+
+    /**
+     * Constructor for a game mode without games
+     */
+    public GameStats(GameMode gameMode) {
+        this.gameMode = gameMode;
+    }
+
+    /**
+     * Adds a game played after every game counted so far
+     * @param isWin Whether the game was won
+     * @param guessesUsed Number of guesses, counted in the distribution for wins
+     * @param timeTaken Time taken in seconds
+     */
+    public void addGame(boolean isWin, int guessesUsed, int timeTaken) {
+        gamesPlayed++;
+        totalTime += timeTaken;
+        if (isWin) {
+            wins++;
+            currentStreak++;
+            maxStreak = Math.max(maxStreak, currentStreak);
+            if (guessesUsed >= 1 && guessesUsed <= MAX_GUESSES) {
+                winsInGuesses[guessesUsed - 1]++;
+            }
+        } else {
+            currentStreak = 0;
+        }
+    }
+
+    public GameMode getGameMode() {
+        return gameMode;
+    }
+
+    public int getGamesPlayed() {
+        return gamesPlayed;
+    }
+
+    public void setGamesPlayed(int gamesPlayed) {
+        this.gamesPlayed = gamesPlayed;
+    }
+
+    public int getWins() {
+        return wins;
+    }
+
+    public void setWins(int wins) {
+        this.wins = wins;
+    }
+
+    public long getTotalTime() {
+        return totalTime;
+    }
+
+    public void setTotalTime(long totalTime) {
+        this.totalTime = totalTime;
+    }
+
+    public int getCurrentStreak() {
+        return currentStreak;
+    }
+
+    public void setCurrentStreak(int currentStreak) {
+        this.currentStreak = currentStreak;
+    }
+
+    public int getMaxStreak() {
+        return maxStreak;
+    }
+
+    public void setMaxStreak(int maxStreak) {
+        this.maxStreak = maxStreak;
+    }
+
+    /**
+     * Gets the number of wins in the given number of guesses
+     * @param guesses Number of guesses, from 1 to {@link #MAX_GUESSES}
+     */
+    public int getWinsInGuesses(int guesses) {
+        return winsInGuesses[guesses - 1];
+    }
+
+    public void setWinsInGuesses(int guesses, int wins) {
+        winsInGuesses[guesses - 1] = wins;
+    }
+
+    /**
+     * Gets the percentage of games won, rounded down
+     */
+    public int getWinPercentage() {
+        return gamesPlayed > 0 ? wins * 100 / gamesPlayed : 0;
+    }
+
+    // Format average time as MM:SS
+    public String getFormattedAverageTime() {
+        long average = gamesPlayed > 0 ? totalTime / gamesPlayed : 0;
+        return String.format(Locale.getDefault(), "%02d:%02d", average / 60, average % 60);
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.wordlegame;
+
+import android.content.Context;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.ArrayAdapter;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.List;
+
+/**
+ * Adapter for displaying the statistics of each game mode in a ListView
+ */
+public class GameStatsAdapter extends ArrayAdapter<GameStats> {
+
+    private final Context context;
+    private final List<GameStats> gameStats;
+
+    public GameStatsAdapter(Context context, List<GameStats> gameStats) {
+        super(context, R.layout.item_game_stats, gameStats);
+        this.context = context;
+        this.gameStats = gameStats;
+    }
+
+    @NonNull
+    @Override
+    public View getView(int position, @Nullable View convertView, @NonNull ViewGroup parent) {
+        ViewHolder holder;
+
+        if (convertView == null) {
+            convertView = LayoutInflater.from(context).inflate(R.layout.item_game_stats, parent, false);
+
+            holder = new ViewHolder();
+            holder.gameModeText = convertView.findViewById(R.id.text_game_mode);
+            holder.playedText = convertView.findViewById(R.id.text_played);
+            holder.winRateText = convertView.findViewById(R.id.text_win_rate);
+            holder.streaksText = convertView.findViewById(R.id.text_streaks);
+            holder.averageTimeText = convertView.findViewById(R.id.text_average_time);
+            holder.distributionText = convertView.findViewById(R.id.text_distribution);
+
+            convertView.setTag(holder);
+        } else {
+            holder = (ViewHolder) convertView.getTag();
+        }
+
+        // Get the current statistics
+        GameStats stats = gameStats.get(position);
+
+        holder.gameModeText.setText(stats.getGameMode().getDisplayName());
+        holder.playedText.setText("Played: " + stats.getGamesPlayed());
+        holder.winRateText.setText("Win rate: " + stats.getWinPercentage() + "%");
+        holder.streaksText.setText("Streak: " + stats.getCurrentStreak() + " (max " + stats.getMaxStreak() + ")");
+        holder.averageTimeText.setText("Avg time: " + stats.getFormattedAverageTime());
+
+        // Set the guess distribution text
+        StringBuilder distribution = new StringBuilder("Wins by guesses  ");
+        for (int guesses = 1; guesses <= GameStats.MAX_GUESSES; guesses++) {
+            distribution.append(guesses).append(": ").append(stats.getWinsInGuesses(guesses)).append("  ");
+        }
+        holder.distributionText.setText(distribution.toString().trim());
+
+        return convertView;
+    }
+
+    private static class ViewHolder {
+        TextView gameModeText;
+        TextView playedText;
+        TextView winRateText;
+        TextView streaksText;
+        TextView averageTimeText;
+        TextView distributionText;
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.wordlegame;
+
+import android.content.ContentValues;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+
+import com.example.wordlegame.WordleContract.GameResultEntry;
+import com.example.wordlegame.WordleContract.GameStatsEntry;
+
+/**
+ * Reads and maintains the statistics table
+ * Callers run the updates in the same transaction as the change to game_results,
+ * so the totals never drift from the raw rows.
+ */
+final class GameStatsTable {
+
+    private GameStatsTable() {
+    }
+
+    /**
+     * Reads the statistics of one game mode, a single row lookup
+     * @return The statistics, all zero if the mode has no games
+     */
+    static GameStats read(SQLiteDatabase db, GameMode gameMode) {
+        GameStats stats = new GameStats(gameMode);
+        Cursor cursor = db.query(GameStatsEntry.TABLE_NAME, null,
+                GameStatsEntry.COLUMN_GAME_MODE + " = ?", new String[]{String.valueOf(gameMode.getCode())},
+                null, null, null);
+
+        if (cursor.moveToFirst()) {
+            stats.setGamesPlayed(cursor.getInt(cursor.getColumnIndexOrThrow(GameStatsEntry.COLUMN_GAMES_PLAYED)));
+            stats.setWins(cursor.getInt(cursor.getColumnIndexOrThrow(GameStatsEntry.COLUMN_WINS)));
+            stats.setTotalTime(cursor.getLong(cursor.getColumnIndexOrThrow(GameStatsEntry.COLUMN_TOTAL_TIME)));
+            stats.setCurrentStreak(cursor.getInt(cursor.getColumnIndexOrThrow(GameStatsEntry.COLUMN_CURRENT_STREAK)));
+            stats.setMaxStreak(cursor.getInt(cursor.getColumnIndexOrThrow(GameStatsEntry.COLUMN_MAX_STREAK)));
+            for (int guesses = 1; guesses <= GameStats.MAX_GUESSES; guesses++) {
+                stats.setWinsInGuesses(guesses,
+                        cursor.getInt(cursor.getColumnIndexOrThrow(GameStatsEntry.COLUMN_WINS_IN[guesses - 1])));
+            }
+        }
+
+        cursor.close();
+        return stats;
+    }
+
+    /**
+     * Adds a newly saved game to its mode's totals
+     */
+    static void recordGame(SQLiteDatabase db, GameResult result) {
+        GameStats stats = read(db, result.getGameMode());
+        stats.addGame(result.isWin(), result.getGuessesUsed(), result.getTimeTaken());
+        write(db, stats);
+    }
+
+    /**
+     * Recomputes one mode's totals from its raw rows, oldest first
+     * Used after a delete, since streaks cannot be taken apart incrementally
+     */
+    static void rebuild(SQLiteDatabase db, GameMode gameMode) {
+        GameStats stats = new GameStats(gameMode);
+        Cursor cursor = db.query(GameResultEntry.TABLE_NAME,
+                new String[]{GameResultEntry.COLUMN_RESULT, GameResultEntry.COLUMN_GUESSES_USED, GameResultEntry.COLUMN_TIME_TAKEN},
+                GameResultEntry.COLUMN_GAME_MODE + " = ?", new String[]{String.valueOf(gameMode.getCode())},
+                null, null,
+                GameResultEntry.COLUMN_DATE_PLAYED + " ASC, " + GameResultEntry._ID + " ASC");
+
+        while (cursor.moveToNext()) {
+            stats.addGame(cursor.getInt(0) == GameResultEntry.RESULT_WIN, cursor.getInt(1), cursor.getInt(2));
+        }
+        cursor.close();
+
+        if (stats.getGamesPlayed() > 0) {
+            write(db, stats);
+        } else {
+            db.delete(GameStatsEntry.TABLE_NAME, GameStatsEntry.COLUMN_GAME_MODE + " = ?",
+                    new String[]{String.valueOf(gameMode.getCode())});
+        }
+    }
+
+    /**
+     * Recomputes every mode's totals from the raw rows
+     */
+    static void rebuildAll(SQLiteDatabase db) {
+        clear(db);
+        for (GameMode gameMode : GameMode.values()) {
+            rebuild(db, gameMode);
+        }
+    }
+
+    /**
+     * Removes all totals, for when the history is cleared
+     */
+    static void clear(SQLiteDatabase db) {
+        db.delete(GameStatsEntry.TABLE_NAME, null, null);
+    }
+
+    private static void write(SQLiteDatabase db, GameStats stats) {
+        ContentValues values = new ContentValues();
+        values.put(GameStatsEntry.COLUMN_GAME_MODE, stats.getGameMode().getCode());
+        values.put(GameStatsEntry.COLUMN_GAMES_PLAYED, stats.getGamesPlayed());
+        values.put(GameStatsEntry.COLUMN_WINS, stats.getWins());
+        values.put(GameStatsEntry.COLUMN_TOTAL_TIME, stats.getTotalTime());
+        values.put(GameStatsEntry.COLUMN_CURRENT_STREAK, stats.getCurrentStreak());
+        values.put(GameStatsEntry.COLUMN_MAX_STREAK, stats.getMaxStreak());
+        for (int guesses = 1; guesses <= GameStats.MAX_GUESSES; guesses++) {
+            values.put(GameStatsEntry.COLUMN_WINS_IN[guesses - 1], stats.getWinsInGuesses(guesses));
+        }
+
+        db.insertWithOnConflict(GameStatsEntry.TABLE_NAME, null, values, SQLiteDatabase.CONFLICT_REPLACE);
+    }
+}
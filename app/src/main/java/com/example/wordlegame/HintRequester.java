@@ -0,0 +1,83 @@
+package com.example.wordlegame;
+
+import android.widget.Button;
+
+import java.util.concurrent.Future;
+
+/**
+ * Hint button state shared by the game fragments
+ * Keeps at most one hint request in flight, disables the button while it
+ * runs, and drops results that arrive after the request was cancelled.
+ */
+final class HintRequester {
+
+    private final HintSolver hintSolver;
+    private final Button hintButton;
+    private final HintSolver.HintCallback onHint;
+    private Future<String> pendingHint; // Hint being computed, cancelled as soon as the player types
+    private int hintRequest; // Tells results of cancelled hints apart
+
+    /**
+     * Constructor
+     * @param hintSolver The solver computing the hints
+     * @param hintButton The button, disabled while a hint is computed
+     * @param onHint Called on the main thread with each hint that was not cancelled
+     */
+    HintRequester(HintSolver hintSolver, Button hintButton, HintSolver.HintCallback onHint) {
+        this.hintSolver = hintSolver;
+        this.hintButton = hintButton;
+        this.onHint = onHint;
+    }
+
+    /**
+     * Checks if a hint is being computed
+     */
+    boolean isPending() {
+        return pendingHint != null;
+    }
+
+    /**
+     * Requests a hint from the feedback so far
+     * @param constraints Feedback so far
+     * @param isHard Whether the secret word comes from the hard list
+     */
+    void request(WordConstraints constraints, boolean isHard) {
+        final int request = begin();
+        pendingHint = hintSolver.requestHint(constraints, isHard, hint -> deliver(request, hint));
+    }
+
+    /**
+     * Requests a hint from the exact words the secret can still be
+     * @param candidateIds Corpus ids of the remaining words, must not be changed afterwards
+     */
+    void request(int[] candidateIds) {
+        final int request = begin();
+        pendingHint = hintSolver.requestHint(candidateIds, hint -> deliver(request, hint));
+    }
+
+    /**
+     * Cancels the pending hint, if any, and enables the button again
+     */
+    void cancel() {
+        if (pendingHint != null) {
+            pendingHint.cancel(true);
+            pendingHint = null;
+            hintRequest++;
+            hintButton.setEnabled(true);
+        }
+    }
+
+    private int begin() {
+        hintButton.setEnabled(false);
+        return ++hintRequest;
+    }
+
+    private void deliver(int request, String hint) {
+        if (request != hintRequest) {
+            return; // Cancelled after the result was already posted
+        }
+        pendingHint = null;
+        hintButton.setEnabled(true);
+        onHint.onHint(hint);
+    }
+}
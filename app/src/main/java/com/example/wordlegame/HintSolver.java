@@ -0,0 +1,338 @@
+package com.example.wordlegame;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Suggests the guess that tells the player the most about the secret word
+ * Every corpus word is a possible guess. Each one is scored by the entropy of
+ * the feedback it would give over the words the secret can still be, read
+ * from the feedback matrix. Guesses are split across one
+ * worker per core, and the opening guess of each list is computed once and cached.
+ */
+public final class HintSolver {
+
+    private static final String TAG = "HintSolver";
+    private static final int WORKER_COUNT = Math.max(1, Runtime.getRuntime().availableProcessors());
+
+    private static HintSolver instance;
+
+    private final WordCorpus corpus;
+    private final ExecutorService requestExecutor; // Runs one hint at a time, so requests queue in order
+    private final ExecutorService workerExecutor;  // Scores slices of the guesses in parallel
+    private final Handler mainHandler;
+    private final int[] openingGuessIds = {-1, -1}; // Best first guess of the easy and hard list, once known
+
+    /**
+     * Interface for hint results
+     */
+    public interface HintCallback {
+        /**
+         * Called on the main thread, unless the request was cancelled
+         * @param hint The suggested guess, or null if there is nothing to suggest
+         */
+        void onHint(String hint);
+    }
+
+    private HintSolver(WordCorpus corpus) {
+        this.corpus = corpus;
+        this.requestExecutor = Executors.newSingleThreadExecutor();
+        this.workerExecutor = Executors.newFixedThreadPool(WORKER_COUNT);
+        this.mainHandler = new Handler(Looper.getMainLooper());
+
+        // Rank the opening guesses ahead of the first hint
+        for (final boolean isHard : new boolean[] {false, true}) {
+            requestExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        solve(new WordConstraints(), isHard);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Gets the solver for the shared corpus, creating it on first use
+     */
+    public static synchronized HintSolver get(WordCorpus corpus) {
+        if (instance == null) {
+            instance = new HintSolver(corpus);
+        }
+        return instance;
+    }
+
+    /**
+     * Computes a hint in the background
+     * @param constraints Feedback so far, copied before this returns
+     * @param isHard Whether the secret word comes from the hard list
+     * @param callback Callback for the hint, called on the main thread
+     * @return The pending request; cancel it when the hint is no longer wanted
+     */
+    public Future<String> requestHint(WordConstraints constraints, final boolean isHard, HintCallback callback) {
+        final WordConstraints snapshot = constraints.copy();
+        return submit(new Callable<Integer>() {
+            @Override
+            public Integer call() throws InterruptedException {
+                return solve(snapshot, isHard);
+            }
+        }, callback);
+    }
+
+    /**
+     * Computes a hint in the background from the exact words the secret can still be
+     * For modes that track their own candidates, such as Evil mode
+     * @param candidateIds Corpus ids of the remaining words, must not be changed afterwards
+     * @param callback Callback for the hint, called on the main thread
+     * @return The pending request; cancel it when the hint is no longer wanted
+     */
+    public Future<String> requestHint(final int[] candidateIds, HintCallback callback) {
+        return submit(new Callable<Integer>() {
+            @Override
+            public Integer call() throws InterruptedException {
+                return solve(candidateIds, candidateIds.length, wholeListOf(candidateIds));
+            }
+        }, callback);
+    }
+
+    private Future<String> submit(final Callable<Integer> solver, final HintCallback callback) {
+        FutureTask<String> task = new FutureTask<String>(new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                int wordId = solver.call();
+                return wordId >= 0 ? PackedWord.unpack(corpus.getPackedWord(wordId)) : null;
+            }
+        }) {
+            @Override
+            protected void done() {
+                if (isCancelled()) {
+                    return;
+                }
+                try {
+                    final String hint = get();
+                    mainHandler.post(new Runnable() {
+                        @Override
+                        public void run() {
+                            callback.onHint(hint);
+                        }
+                    });
+                } catch (InterruptedException | ExecutionException e) {
+                    Log.e(TAG, "Error computing hint", e);
+                }
+            }
+        };
+        requestExecutor.execute(task);
+        return task;
+    }
+
+    /**
+     * Finds the guess with the most informative feedback over the words matching the constraints
+     * @return Id of the guess in the corpus, or -1 if no word is left
+     */
+    private int solve(WordConstraints constraints, boolean isHard) throws InterruptedException {
+        int[] candidates = new int[corpus.size()];
+        CandidateQuery query = new CandidateQuery(corpus);
+        int candidateCount = query.run(constraints, isHard, candidates);
+
+        // No feedback has ruled anything out yet, the opening guess applies
+        boolean opening = query.getTier() == CandidateQuery.TIER_STRICT
+                && candidateCount == corpus.getIndex(isHard).size();
+        return solve(candidates, candidateCount, opening ? listIndexOf(isHard) : -1);
+    }
+
+    /**
+     * Finds the guess with the most informative feedback over the given candidates
+     * @param openingList List the candidates are the whole of, whose opening guess is cached, or -1
+     * @return Id of the guess in the corpus, or -1 if no word is left
+     */
+    private int solve(int[] candidates, int candidateCount, int openingList) throws InterruptedException {
+        long startTime = System.nanoTime();
+        if (candidateCount <= 2) {
+            // Guessing a candidate is as good as it gets, and may win outright
+            return candidateCount > 0 ? candidates[0] : -1;
+        }
+
+        if (openingList >= 0) {
+            synchronized (openingGuessIds) {
+                if (openingGuessIds[openingList] >= 0) {
+                    return openingGuessIds[openingList];
+                }
+            }
+        }
+
+        int bestId = rankGuesses(candidates, candidateCount);
+
+        if (openingList >= 0) {
+            synchronized (openingGuessIds) {
+                openingGuessIds[openingList] = bestId;
+            }
+        }
+        Log.d(TAG, "Ranked " + corpus.size() + " guesses over " + candidateCount + " candidates in "
+                + (System.nanoTime() - startTime) / 1000000 + "ms");
+        return bestId;
+    }
+
+    /**
+     * Finds the list the candidates are all of, so a fresh Evil game shares the opening guess
+     * @return The list's index in openingGuessIds, or -1 if the candidates are not a whole list
+     */
+    private int wholeListOf(int[] candidates) {
+        for (boolean isHard : new boolean[] {false, true}) {
+            int firstId = corpus.getFirstWordId(isHard);
+            int endId = firstId + corpus.getIndex(isHard).size();
+            if (candidates.length != endId - firstId) {
+                continue;
+            }
+
+            // Ids are distinct, so as many ids all inside the list are the whole list
+            boolean inList = true;
+            for (int wordId : candidates) {
+                if (wordId < firstId || wordId >= endId) {
+                    inList = false;
+                    break;
+                }
+            }
+            if (inList) {
+                return listIndexOf(isHard);
+            }
+        }
+        return -1;
+    }
+
+    private static int listIndexOf(boolean isHard) {
+        return isHard ? 1 : 0;
+    }
+
+    /**
+     * Scores every corpus word as a guess, one slice of the ids per worker
+     */
+    private int rankGuesses(int[] candidates, int candidateCount) throws InterruptedException {
+        // c * log2(c) for every bucket size, shared read-only by the workers
+        double[] weights = new double[candidateCount + 1];
+        for (int size = 2; size <= candidateCount; size++) {
+            weights[size] = size * Math.log(size) / Math.log(2);
+        }
+
+        int guessCount = corpus.size();
+        int sliceSize = (guessCount + WORKER_COUNT - 1) / WORKER_COUNT;
+        List<Future<RankedGuess>> slices = new ArrayList<>();
+        for (int start = 0; start < guessCount; start += sliceSize) {
+            slices.add(workerExecutor.submit(new GuessSlice(candidates, candidateCount, weights,
+                    start, Math.min(guessCount, start + sliceSize))));
+        }
+
+        try {
+            RankedGuess best = null;
+            for (Future<RankedGuess> slice : slices) {
+                RankedGuess ranked = slice.get();
+                if (ranked.isBetterThan(best)) {
+                    best = ranked;
+                }
+            }
+            return best != null ? best.wordId : candidates[0];
+        } catch (ExecutionException e) {
+            Log.e(TAG, "Error ranking guesses", e);
+            return candidates[0];
+        } finally {
+            // Stops the other slices if this request was cancelled
+            for (Future<RankedGuess> slice : slices) {
+                slice.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * A guess and how little its feedback is expected to leave
+     */
+    private static final class RankedGuess {
+        final int wordId;
+        final double score;         // Lower is better
+        final boolean isCandidate;  // Could be the answer itself
+
+        RankedGuess(int wordId, double score, boolean isCandidate) {
+            this.wordId = wordId;
+            this.score = score;
+            this.isCandidate = isCandidate;
+        }
+
+        boolean isBetterThan(RankedGuess other) {
+            return other == null || score < other.score
+                    || (score == other.score && isCandidate && !other.isCandidate);
+        }
+    }
+
+    /**
+     * Scores the guesses in a range of ids and keeps the best one
+     * The score is the sum of c * log2(c) over the feedback buckets, which
+     * orders guesses the same way as the entropy of their feedback, reversed.
+     * A guess that is itself a candidate wins ties, since it may be the answer.
+     */
+    private final class GuessSlice implements Callable<RankedGuess> {
+        private final int[] candidates;
+        private final int candidateCount;
+        private final double[] weights;
+        private final int start;
+        private final int end;
+
+        GuessSlice(int[] candidates, int candidateCount, double[] weights, int start, int end) {
+            this.candidates = candidates;
+            this.candidateCount = candidateCount;
+            this.weights = weights;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public RankedGuess call() throws InterruptedException {
+            FeedbackMatrix matrix = corpus.getFeedbackMatrix();
+            boolean precomputed = matrix.isPrecomputed();
+            int[] bucketCounts = new int[WordleScorer.PATTERN_COUNT];
+
+            RankedGuess best = null;
+            for (int guessId = start; guessId < end; guessId++) {
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+
+                int packedGuess = corpus.getPackedWord(guessId);
+                if (precomputed) {
+                    FeedbackMatrix.Row feedback = matrix.getRow(packedGuess);
+                    for (int i = 0; i < candidateCount; i++) {
+                        bucketCounts[feedback.score(candidates[i])]++;
+                    }
+                } else {
+                    // Scoring only the candidates beats computing and caching whole rows
+                    for (int i = 0; i < candidateCount; i++) {
+                        bucketCounts[WordleScorer.score(packedGuess, corpus.getPackedWord(candidates[i]))]++;
+                    }
+                }
+
+                double score = 0;
+                for (int pattern = 0; pattern < WordleScorer.PATTERN_COUNT; pattern++) {
+                    score += weights[bucketCounts[pattern]];
+                }
+                RankedGuess ranked = new RankedGuess(guessId, score, bucketCounts[WordleScorer.ALL_CORRECT] > 0);
+                Arrays.fill(bucketCounts, 0);
+
+                if (ranked.isBetterThan(best)) {
+                    best = ranked;
+                }
+            }
+            return best;
+        }
+    }
+}
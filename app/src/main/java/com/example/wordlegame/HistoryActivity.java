@@ -1,10 +1,12 @@
 package com.example.wordlegame;
 
 import android.app.AlertDialog;
+import android.content.Intent;
 import android.os.Bundle;
 import android.view.Menu;
 import android.view.MenuItem;
 import android.view.View;
+import android.widget.AbsListView;
 import android.widget.AdapterView;
 import android.widget.ArrayAdapter;
 import android.widget.ListView;
@@ -16,9 +18,14 @@ import androidx.appcompat.widget.Toolbar;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class HistoryActivity extends BaseActivity {
 
+    private static final int PAGE_SIZE = 50;
+    private static final int PREFETCH_ROWS = 10; // Load the next page this many rows before the end
+
     private ListView historyListView;
     private Spinner filterSpinner;
     private TextView emptyStateTextView;
@@ -27,6 +34,13 @@ public class HistoryActivity extends BaseActivity {
     private GameHistoryAdapter historyAdapter;
     private List<GameResult> gameResults;
 
+    // Pages load one at a time in the background and are appended as the list scrolls
+    private final ExecutorService pageExecutor = Executors.newSingleThreadExecutor();
+    private GameMode filterMode;
+    private boolean loadingPage;
+    private boolean allPagesLoaded;
+    private int loadGeneration; // Tells pages of an earlier filter apart
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
@@ -44,12 +58,25 @@ public class HistoryActivity extends BaseActivity {
         emptyStateTextView = findViewById(R.id.text_empty_state);
 
         // Initialize repository
-        repository = new WordleRepository(this);
+        repository = WordleRepository.getInstance(this);
 
         // Initialize list and adapter
         gameResults = new ArrayList<>();
         historyAdapter = new GameHistoryAdapter(this, gameResults);
         historyListView.setAdapter(historyAdapter);
+        historyListView.setOnScrollListener(new AbsListView.OnScrollListener() {
+            @Override
+            public void onScrollStateChanged(AbsListView view, int scrollState) {
+                // Do nothing
+            }
+
+            @Override
+            public void onScroll(AbsListView view, int firstVisibleItem, int visibleItemCount, int totalItemCount) {
+                if (firstVisibleItem + visibleItemCount >= totalItemCount - PREFETCH_ROWS) {
+                    loadNextPage();
+                }
+            }
+        });
 
         // Set up filter spinner
         setupFilterSpinner();
@@ -102,19 +129,46 @@ public class HistoryActivity extends BaseActivity {
     }
 
     private void loadGameResults(GameMode filterMode) {
-        // Clear current results
+        // Start over from the first page
+        this.filterMode = filterMode;
+        loadGeneration++;
+        loadingPage = false;
+        allPagesLoaded = false;
         gameResults.clear();
+        historyAdapter.notifyDataSetChanged();
 
-        // Load results based on filter
-        if (filterMode == null) {
-            gameResults.addAll(repository.getAllGameResults());
-        } else {
-            gameResults.addAll(repository.getGameResultsByMode(filterMode));
+        loadNextPage();
+    }
+
+    private void loadNextPage() {
+        if (loadingPage || allPagesLoaded) {
+            return;
+        }
+        loadingPage = true;
+
+        final int generation = loadGeneration;
+        final GameMode mode = filterMode;
+        final GameResult after = gameResults.isEmpty() ? null : gameResults.get(gameResults.size() - 1);
+        pageExecutor.execute(() -> {
+            List<GameResult> page = repository.getGameResultsPage(mode, after, PAGE_SIZE);
+            runOnUiThread(() -> onPageLoaded(generation, page));
+        });
+    }
+
+    private void onPageLoaded(int generation, List<GameResult> page) {
+        if (generation != loadGeneration || isDestroyed()) {
+            return; // The filter changed while the page was loading
         }
+        loadingPage = false;
+        allPagesLoaded = page.size() < PAGE_SIZE;
 
-        // Update adapter
+        // Append the page
+        gameResults.addAll(page);
         historyAdapter.notifyDataSetChanged();
+        updateEmptyState();
+    }
 
+    private void updateEmptyState() {
         // Show empty state if no results
         if (gameResults.isEmpty()) {
             historyListView.setVisibility(View.GONE);
@@ -137,7 +191,7 @@ public class HistoryActivity extends BaseActivity {
         details.append("Result: ").append(result.isWin() ? "WIN" : "LOSS").append("\n\n");
         details.append("Guesses Used: ").append(result.getGuessesUsed()).append("\n\n");
         details.append("Time Taken: ").append(result.getFormattedTime()).append("\n\n");
-        details.append("Date: ").append(result.getDatePlayed());
+        details.append("Date: ").append(result.getFormattedDate());
 
         builder.setMessage(details.toString());
         builder.setPositiveButton("Close", null);
@@ -157,13 +211,13 @@ public class HistoryActivity extends BaseActivity {
         builder.setMessage("Are you sure you want to delete this game result?");
 
         builder.setPositiveButton("Delete", (dialog, which) -> {
-            // Delete result from database
-            repository.deleteGameResult(result.getId());
+            // Delete result from database in the background
+            repository.deleteGameResultAsync(result.getId());
 
-            // Reload game results
-            GameMode filterMode = filterSpinner.getSelectedItemPosition() == 0 ?
-                    null : GameMode.values()[filterSpinner.getSelectedItemPosition() - 1];
-            loadGameResults(filterMode);
+            // Remove it from the list right away instead of reloading
+            gameResults.remove(result);
+            historyAdapter.notifyDataSetChanged();
+            updateEmptyState();
         });
 
         builder.setNegativeButton("Cancel", null);
@@ -188,6 +242,10 @@ public class HistoryActivity extends BaseActivity {
             // Clear history
             showClearHistoryConfirmation();
             return true;
+        } else if (id == R.id.action_stats) {
+            // Show statistics
+            startActivity(new Intent(this, StatsActivity.class));
+            return true;
         }
 
         return super.onOptionsItemSelected(item);
@@ -199,11 +257,16 @@ public class HistoryActivity extends BaseActivity {
         builder.setMessage("Are you sure you want to clear all game history? This action cannot be undone.");
 
         builder.setPositiveButton("Clear", (dialog, which) -> {
-            // Clear all game results
-            repository.clearAllGameResults();
+            // Clear all game results in the background
+            repository.clearAllGameResultsAsync();
 
-            // Reload empty list
-            loadGameResults(null);
+            // Empty the list right away instead of reloading
+            loadGeneration++;
+            loadingPage = false;
+            allPagesLoaded = true;
+            gameResults.clear();
+            historyAdapter.notifyDataSetChanged();
+            updateEmptyState();
 
             // Reset spinner to "All"
             filterSpinner.setSelection(0);
@@ -212,4 +275,10 @@ public class HistoryActivity extends BaseActivity {
         builder.setNegativeButton("Cancel", null);
         builder.show();
     }
-}
\ No newline at end of file
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        pageExecutor.shutdownNow();
+    }
+}
@@ -15,9 +15,7 @@ import com.example.wordlegame.R;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Adapter for the keyboard RecyclerView
@@ -31,7 +29,7 @@ public class KeyboardAdapter extends RecyclerView.Adapter<KeyboardAdapter.KeyVie
     };
 
     private final List<String> keys;
-    private final Map<String, Integer> keyStates; // 0: unused, 1: wrong, 2: partial, 3: correct
+    private final int[] letterStates = new int[26]; // Per letter a-z, 0: unused, 1: wrong, 2: partial, 3: correct
     private final OnKeyClickListener listener;
 
     public interface OnKeyClickListener {
@@ -41,16 +39,11 @@ public class KeyboardAdapter extends RecyclerView.Adapter<KeyboardAdapter.KeyVie
     public KeyboardAdapter(OnKeyClickListener listener) {
         this.listener = listener;
         this.keys = new ArrayList<>();
-        this.keyStates = new HashMap<>();
 
-        // Flatten keyboard layout and initialize key states
+        // Flatten keyboard layout
         for (String[] row : KEYBOARD_LAYOUT) {
             keys.addAll(Arrays.asList(row));
         }
-
-        for (String key : keys) {
-            keyStates.put(key, 0);
-        }
     }
 
     @NonNull
@@ -81,7 +74,8 @@ public class KeyboardAdapter extends RecyclerView.Adapter<KeyboardAdapter.KeyVie
     @Override
     public void onBindViewHolder(@NonNull KeyViewHolder holder, int position) {
         String key = keys.get(position);
-        holder.bind(key, keyStates.get(key));
+        int letter = key.length() == 1 ? PackedWord.letterIndex(key.charAt(0)) : -1;
+        holder.bind(key, letter >= 0 ? letterStates[letter] : 0);
     }
 
     @Override
@@ -97,18 +91,17 @@ public class KeyboardAdapter extends RecyclerView.Adapter<KeyboardAdapter.KeyVie
 
     /**
      * Updates the keyboard state based on a guess result
-     * @param guess The guess string
-     * @param results List of result codes (0: wrong, 1: partial, 2: correct)
+     * @param packedGuess The guess, packed with {@link PackedWord}
+     * @param pattern Feedback pattern from {@link WordleScorer}
      */
-    public void updateKeyboardState(String guess, List<Integer> results) {
-        for (int i = 0; i < guess.length(); i++) {
-            String key = String.valueOf(guess.charAt(i)).toUpperCase();
-            int result = results.get(i);
+    public void updateKeyboardState(int packedGuess, int pattern) {
+        for (int i = 0; i < PackedWord.WORD_LENGTH; i++) {
+            int letter = PackedWord.letterAt(packedGuess, i);
+            int state = WordleScorer.codeAt(pattern, i) + 1; // +1 to match our state codes
 
             // Only update key state if it's an improvement (wrong < partial < correct)
-            int currentState = keyStates.getOrDefault(key, 0);
-            if (result + 1 > currentState) { // +1 to match our state codes
-                keyStates.put(key, result + 1);
+            if (state > letterStates[letter]) {
+                letterStates[letter] = state;
             }
         }
     }
@@ -0,0 +1,67 @@
+package com.example.wordlegame;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the most recent latency samples and reports percentiles over them
+ * Recording is a single array write, percentiles sort a copy on demand
+ */
+public class LatencyRecorder {
+
+    private final long[] samples;
+    private int count;
+    private int position;
+    private long totalCount;
+
+    /**
+     * Constructor
+     * @param capacity Number of recent samples to keep
+     */
+    public LatencyRecorder(int capacity) {
+        this.samples = new long[capacity];
+    }
+
+    /**
+     * Records one sample
+     * @param latencyMs Latency in milliseconds
+     */
+    public synchronized void record(long latencyMs) {
+        samples[position] = latencyMs;
+        position = (position + 1) % samples.length;
+        if (count < samples.length) {
+            count++;
+        }
+        totalCount++;
+    }
+
+    /**
+     * Gets a percentile over the kept samples
+     * @param percentile Percentile between 0 and 100
+     * @return The latency in milliseconds, or 0 if nothing was recorded
+     */
+    public synchronized long getPercentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100.0 * count) - 1;
+        return sorted[Math.max(0, Math.min(count - 1, rank))];
+    }
+
+    /**
+     * Gets the number of samples recorded since creation, including dropped ones
+     */
+    public synchronized long getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * Formats the usual percentiles for logging
+     */
+    public String summary() {
+        return "p50=" + getPercentile(50) + "ms p95=" + getPercentile(95)
+                + "ms p99=" + getPercentile(99) + "ms n=" + getTotalCount();
+    }
+}
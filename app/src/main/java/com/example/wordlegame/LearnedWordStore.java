@@ -0,0 +1,172 @@
+package com.example.wordlegame;
+
+import android.util.Log;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Append-only file of words learned from the dictionary API
+ * Each word is one big-endian packed int, so saving new words costs
+ * a few bytes instead of rewriting the whole cache, and loading is a
+ * single read. Duplicates and torn writes are dropped by {@link #compact(int[], Runnable)},
+ * and a torn trailing record is also cut off before the next append.
+ */
+public class LearnedWordStore {
+
+    private static final String TAG = "LearnedWordStore";
+    private static final int RECORD_BYTES = 4;
+
+    private final File file;
+    private final ExecutorService writer;
+
+    /**
+     * Constructor
+     * @param file The log file, created on first append
+     */
+    public LearnedWordStore(File file) {
+        this.file = file;
+        this.writer = Executors.newSingleThreadExecutor();
+    }
+
+    /**
+     * Reads every packed word in the log, in append order
+     * A partially written trailing record is ignored
+     */
+    public int[] load() {
+        if (!file.exists()) {
+            return new int[0];
+        }
+
+        int recordCount = (int) (file.length() / RECORD_BYTES);
+        int[] words = new int[recordCount];
+        DataInputStream input = null;
+        try {
+            byte[] bytes = new byte[recordCount * RECORD_BYTES];
+            input = new DataInputStream(new FileInputStream(file));
+            input.readFully(bytes);
+
+            for (int i = 0; i < recordCount; i++) {
+                int offset = i * RECORD_BYTES;
+                words[i] = ((bytes[offset] & 0xFF) << 24)
+                        | ((bytes[offset + 1] & 0xFF) << 16)
+                        | ((bytes[offset + 2] & 0xFF) << 8)
+                        | (bytes[offset + 3] & 0xFF);
+            }
+        } catch (IOException e) {
+            Log.e(TAG, "Error loading learned words", e);
+            return new int[0];
+        } finally {
+            closeQuietly(input);
+        }
+
+        return words;
+    }
+
+    /**
+     * Checks if the log holds more records than live words and should be compacted
+     * @param liveCount Number of words still worth keeping
+     */
+    public boolean needsCompaction(int liveCount) {
+        return file.length() != (long) liveCount * RECORD_BYTES;
+    }
+
+    /**
+     * Appends a batch of packed words on a background thread
+     */
+    public void append(int[] words, int count) {
+        final int[] batch = Arrays.copyOf(words, count);
+        writer.execute(() -> {
+            FileOutputStream stream = null;
+            DataOutputStream output = null;
+            try {
+                stream = new FileOutputStream(file, true);
+
+                // A torn record from an interrupted write would shift every record after it, so drop it first
+                FileChannel channel = stream.getChannel();
+                long tornBytes = channel.size() % RECORD_BYTES;
+                if (tornBytes != 0) {
+                    channel.truncate(channel.size() - tornBytes);
+                }
+
+                output = new DataOutputStream(new BufferedOutputStream(stream));
+                for (int packed : batch) {
+                    output.writeInt(packed);
+                }
+                output.flush();
+            } catch (IOException e) {
+                Log.e(TAG, "Error appending learned words", e);
+            } finally {
+                closeQuietly(output);
+                closeQuietly(stream);
+            }
+        });
+    }
+
+    /**
+     * Replaces the log with exactly the given words on a background thread
+     * Written to a temporary file first, so a crash never leaves a half-written log
+     * @param words The words to keep
+     * @param onCompacted Run on the background thread once the new log is in place,
+     *                    not run if it could not be written; may be null
+     */
+    public void compact(int[] words, final Runnable onCompacted) {
+        final int[] liveWords = words.clone();
+        writer.execute(() -> {
+            File tempFile = new File(file.getPath() + ".tmp");
+            DataOutputStream output = null;
+            try {
+                output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)));
+                for (int packed : liveWords) {
+                    output.writeInt(packed);
+                }
+                output.flush();
+                output.close();
+                output = null;
+
+                if (!tempFile.renameTo(file)) {
+                    Log.e(TAG, "Could not replace learned word log");
+                } else if (onCompacted != null) {
+                    onCompacted.run();
+                }
+            } catch (IOException e) {
+                Log.e(TAG, "Error compacting learned words", e);
+            } finally {
+                closeQuietly(output);
+            }
+        });
+    }
+
+    /**
+     * Waits until every append and compaction queued so far has finished
+     * @param timeoutMs Longest wait
+     * @return true if they finished in time
+     */
+    boolean awaitWrites(long timeoutMs) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        writer.execute(done::countDown);
+        return done.await(timeoutMs, TimeUnit.MILLISECONDS);
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        if (closeable != null) {
+            try {
+                closeable.close();
+            } catch (IOException e) {
+                // Nothing left to clean up
+            }
+        }
+    }
+}
@@ -15,9 +15,13 @@ public class MainActivity extends BaseActivity {
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
+        long start = StartupTrace.begin("MainActivity.onCreate");
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_main);
-        DictionaryManager.getInstance(this);
+
+        // Word lists and dictionary load in the background, game screens wait for them
+        DictionaryManager.initialize(this);
+
         // Initialize UI components
         playGameButton = findViewById(R.id.button_play_game);
         settingsButton = findViewById(R.id.button_settings);
@@ -59,5 +63,16 @@ public class MainActivity extends BaseActivity {
                 finish();
             }
         });
+        StartupTrace.end("MainActivity.onCreate", start);
+    }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+
+        // Leaving the main menu leaves the app, release the database connection
+        if (isFinishing()) {
+            WordleRepository.shutdown();
+        }
     }
 }
\ No newline at end of file
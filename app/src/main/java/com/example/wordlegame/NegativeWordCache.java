@@ -0,0 +1,239 @@
+package com.example.wordlegame;
+
+import android.util.Log;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Cache of packed words the dictionary API rejected, each with an expiry time
+ * Keeps retried or repeated invalid guesses off the network. Entries expire so
+ * a word added to the dictionary later is eventually looked up again.
+ * Persisted as big-endian (packed word, expiry millis) records.
+ */
+public class NegativeWordCache {
+
+    private static final String TAG = "NegativeWordCache";
+    private static final int EMPTY = -1; // Packed words are never negative
+    private static final int MIN_CAPACITY = 16;
+
+    private final File file;
+    private final long ttlMs;
+    private final ExecutorService writer;
+
+    // Open-addressing table, guarded by this
+    private int[] keys;
+    private long[] expiresAt;
+    private int size;
+    private boolean dirty;
+
+    /**
+     * Constructor
+     * @param file The cache file, loaded right away if it exists
+     * @param ttlMs How long a rejected word stays cached
+     */
+    public NegativeWordCache(File file, long ttlMs) {
+        this.file = file;
+        this.ttlMs = ttlMs;
+        this.writer = Executors.newSingleThreadExecutor();
+        this.keys = new int[MIN_CAPACITY];
+        this.expiresAt = new long[MIN_CAPACITY];
+        Arrays.fill(keys, EMPTY);
+        load();
+    }
+
+    /**
+     * Checks if a packed word was rejected and has not expired yet
+     */
+    public synchronized boolean contains(int packed) {
+        int slot = find(packed);
+        return slot >= 0 && expiresAt[slot] > System.currentTimeMillis();
+    }
+
+    /**
+     * Remembers a rejected packed word until the TTL runs out
+     */
+    public synchronized void add(int packed) {
+        if (packed < 0) {
+            return;
+        }
+
+        long expiry = System.currentTimeMillis() + ttlMs;
+        int slot = find(packed);
+        if (slot >= 0) {
+            expiresAt[slot] = expiry;
+        } else {
+            put(packed, expiry);
+        }
+        dirty = true;
+    }
+
+    /**
+     * Gets the number of entries, expired ones included until the next resize
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Writes the live entries to disk on a background thread, if anything changed
+     */
+    public void save() {
+        final int[] liveKeys;
+        final long[] liveExpiry;
+        final int liveCount;
+        synchronized (this) {
+            if (!dirty) {
+                return;
+            }
+            dirty = false;
+
+            long now = System.currentTimeMillis();
+            liveKeys = new int[size];
+            liveExpiry = new long[size];
+            int count = 0;
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != EMPTY && expiresAt[i] > now) {
+                    liveKeys[count] = keys[i];
+                    liveExpiry[count] = expiresAt[i];
+                    count++;
+                }
+            }
+            if (count < size) {
+                rehash(keys.length); // Drop expired entries from memory too
+            }
+            liveCount = count;
+        }
+
+        writer.execute(() -> {
+            File tempFile = new File(file.getPath() + ".tmp");
+            DataOutputStream output = null;
+            try {
+                output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)));
+                for (int i = 0; i < liveCount; i++) {
+                    output.writeInt(liveKeys[i]);
+                    output.writeLong(liveExpiry[i]);
+                }
+                output.flush();
+                output.close();
+                output = null;
+
+                if (!tempFile.renameTo(file)) {
+                    Log.e(TAG, "Could not replace negative word cache");
+                }
+            } catch (IOException e) {
+                Log.e(TAG, "Error saving negative word cache", e);
+            } finally {
+                closeQuietly(output);
+            }
+        });
+    }
+
+    private void load() {
+        if (!file.exists()) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        DataInputStream input = null;
+        try {
+            input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+            while (true) {
+                int packed = input.readInt();
+                long expiry = input.readLong();
+                if (expiry > now && find(packed) < 0) {
+                    put(packed, expiry);
+                }
+            }
+        } catch (EOFException e) {
+            // End of file, a partially written trailing record is ignored
+        } catch (IOException e) {
+            Log.e(TAG, "Error loading negative word cache", e);
+        } finally {
+            closeQuietly(input);
+        }
+    }
+
+    private int find(int packed) {
+        if (packed < 0) {
+            return -1;
+        }
+
+        int mask = keys.length - 1;
+        int slot = hash(packed) & mask;
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == packed) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void put(int packed, long expiry) {
+        if ((size + 1) * 2 > keys.length) {
+            rehash(keys.length * 2);
+        }
+
+        int mask = keys.length - 1;
+        int slot = hash(packed) & mask;
+        while (keys[slot] != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = packed;
+        expiresAt[slot] = expiry;
+        size++;
+    }
+
+    /**
+     * Rebuilds the table with the given capacity, dropping expired entries
+     */
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        long[] oldExpiry = expiresAt;
+        long now = System.currentTimeMillis();
+
+        keys = new int[capacity];
+        expiresAt = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY && oldExpiry[i] > now) {
+                int mask = capacity - 1;
+                int slot = hash(oldKeys[i]) & mask;
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                expiresAt[slot] = oldExpiry[i];
+                size++;
+            }
+        }
+    }
+
+    private static int hash(int packed) {
+        int h = packed * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        if (closeable != null) {
+            try {
+                closeable.close();
+            } catch (IOException e) {
+                // Nothing left to clean up
+            }
+        }
+    }
+}
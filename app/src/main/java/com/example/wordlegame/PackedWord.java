@@ -0,0 +1,69 @@
+package com.example.wordlegame;
+
+/**
+ * Utility class for packing 5-letter words into ints
+ * Each letter takes 5 bits with the first letter in the highest bits,
+ * so packed words sort in the same order as the words themselves
+ */
+public final class PackedWord {
+
+    public static final int WORD_LENGTH = 5;
+    public static final int BITS_PER_LETTER = 5;
+    public static final int INVALID = -1;
+
+    // Private constructor to prevent instantiation
+    private PackedWord() {}
+
+    /**
+     * Packs a word, ignoring letter case
+     * @param word The word to pack
+     * @return The packed word, or {@link #INVALID} if it is not 5 letters a-z
+     */
+    public static int pack(CharSequence word) {
+        if (word == null || word.length() != WORD_LENGTH) {
+            return INVALID;
+        }
+
+        int packed = 0;
+        for (int i = 0; i < WORD_LENGTH; i++) {
+            int letter = letterIndex(word.charAt(i));
+            if (letter < 0) {
+                return INVALID;
+            }
+            packed = (packed << BITS_PER_LETTER) | letter;
+        }
+        return packed;
+    }
+
+    /**
+     * Unpacks a word into a lowercase string
+     */
+    public static String unpack(int packed) {
+        char[] letters = new char[WORD_LENGTH];
+        for (int i = 0; i < WORD_LENGTH; i++) {
+            letters[i] = (char) ('a' + letterAt(packed, i));
+        }
+        return new String(letters);
+    }
+
+    /**
+     * Gets the letter index (0 for 'a' to 25 for 'z') at a position of a packed word
+     */
+    public static int letterAt(int packed, int position) {
+        return (packed >>> (BITS_PER_LETTER * (WORD_LENGTH - 1 - position))) & 0x1F;
+    }
+
+    /**
+     * Gets the letter index of a character, ignoring case
+     * @return 0 for 'a' to 25 for 'z', or -1 if it is not a letter a-z
+     */
+    public static int letterIndex(char c) {
+        if (c >= 'a' && c <= 'z') {
+            return c - 'a';
+        }
+        if (c >= 'A' && c <= 'Z') {
+            return c - 'A';
+        }
+        return -1;
+    }
+}
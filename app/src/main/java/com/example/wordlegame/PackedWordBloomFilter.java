@@ -0,0 +1,98 @@
+package com.example.wordlegame;
+
+/**
+ * Immutable Bloom filter over packed words
+ * Answers "definitely not a known word" with a few bit reads, so most
+ * rejected guesses never probe the word sets at all
+ */
+public final class PackedWordBloomFilter {
+
+    private static final int BITS_PER_WORD = 10; // About 1% false positives
+    private static final int HASH_COUNT = 7;
+
+    private final long[] bits;
+    private final int mask;
+
+    private PackedWordBloomFilter(long[] bits) {
+        this.bits = bits;
+        this.mask = bits.length * 64 - 1;
+    }
+
+    /**
+     * Creates a filter holding the given packed words
+     * @param extraCapacity Number of words expected to be added later through {@link #withWords(int[], int)}
+     */
+    public static PackedWordBloomFilter of(int extraCapacity, int[]... packedWords) {
+        int expectedSize = extraCapacity;
+        for (int[] words : packedWords) {
+            expectedSize += words.length;
+        }
+
+        // Power of two number of bits, so positions are masked instead of divided
+        int bitCount = 64;
+        while (bitCount < expectedSize * BITS_PER_WORD) {
+            bitCount <<= 1;
+        }
+
+        PackedWordBloomFilter filter = new PackedWordBloomFilter(new long[bitCount / 64]);
+        for (int[] words : packedWords) {
+            for (int packed : words) {
+                filter.set(packed);
+            }
+        }
+        return filter;
+    }
+
+    /**
+     * Creates a copy with the given words added
+     * @param addedWords Packed words to add
+     * @param count Number of entries of addedWords to use
+     */
+    public PackedWordBloomFilter withWords(int[] addedWords, int count) {
+        PackedWordBloomFilter filter = new PackedWordBloomFilter(bits.clone());
+        for (int i = 0; i < count; i++) {
+            filter.set(addedWords[i]);
+        }
+        return filter;
+    }
+
+    /**
+     * Checks if a packed word may have been added
+     * @return false if the word was definitely never added
+     */
+    public boolean mightContain(int packed) {
+        if (packed < 0) {
+            return false;
+        }
+
+        int h1 = hash(packed);
+        int h2 = (h1 >>> 15) | 1;
+        for (int i = 0; i < HASH_COUNT; i++) {
+            int bit = (h1 + i * h2) & mask;
+            if ((bits[bit >>> 6] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void set(int packed) {
+        if (packed < 0) {
+            return;
+        }
+
+        int h1 = hash(packed);
+        int h2 = (h1 >>> 15) | 1;
+        for (int i = 0; i < HASH_COUNT; i++) {
+            int bit = (h1 + i * h2) & mask;
+            bits[bit >>> 6] |= 1L << bit;
+        }
+    }
+
+    private static int hash(int packed) {
+        int h = packed * 0x9E3779B9;
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        return h ^ (h >>> 13);
+    }
+}
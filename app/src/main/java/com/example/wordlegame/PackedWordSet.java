@@ -0,0 +1,135 @@
+package com.example.wordlegame;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash set of packed words
+ * Stores plain ints so lookups and additions never allocate per word
+ */
+public class PackedWordSet {
+
+    private static final int EMPTY = -1; // Packed words are never negative
+    private static final int MIN_CAPACITY = 16;
+
+    private int[] table;
+    private int size;
+
+    /**
+     * Constructor
+     * @param expectedSize Number of words the set should hold without resizing
+     */
+    public PackedWordSet(int expectedSize) {
+        table = new int[capacityFor(expectedSize)];
+        Arrays.fill(table, EMPTY);
+    }
+
+    /**
+     * Creates a set holding the given packed words
+     */
+    public static PackedWordSet of(int[] packedWords) {
+        PackedWordSet set = new PackedWordSet(packedWords.length);
+        for (int packed : packedWords) {
+            set.add(packed);
+        }
+        return set;
+    }
+
+    /**
+     * Adds a packed word
+     * @return true if the word was not in the set yet
+     */
+    public boolean add(int packed) {
+        if (packed < 0) {
+            return false;
+        }
+
+        if ((size + 1) * 2 > table.length) {
+            resize(table.length * 2);
+        }
+
+        int mask = table.length - 1;
+        int slot = hash(packed) & mask;
+        while (table[slot] != EMPTY) {
+            if (table[slot] == packed) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        table[slot] = packed;
+        size++;
+        return true;
+    }
+
+    /**
+     * Checks if a packed word is in the set
+     */
+    public boolean contains(int packed) {
+        if (packed < 0) {
+            return false;
+        }
+
+        int mask = table.length - 1;
+        int slot = hash(packed) & mask;
+        while (table[slot] != EMPTY) {
+            if (table[slot] == packed) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Checks if a word is in the set, ignoring letter case, without allocating
+     */
+    public boolean contains(CharSequence word) {
+        return contains(PackedWord.pack(word));
+    }
+
+    /**
+     * Gets the number of words in the set
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Copies the packed words into a new array, in no particular order
+     */
+    public int[] toArray() {
+        int[] result = new int[size];
+        int i = 0;
+        for (int packed : table) {
+            if (packed != EMPTY) {
+                result[i++] = packed;
+            }
+        }
+        return result;
+    }
+
+    private void resize(int newCapacity) {
+        int[] oldTable = table;
+        table = new int[newCapacity];
+        Arrays.fill(table, EMPTY);
+        size = 0;
+        for (int packed : oldTable) {
+            if (packed != EMPTY) {
+                add(packed);
+            }
+        }
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < expectedSize * 2) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static int hash(int packed) {
+        int h = packed * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.wordlegame;
+
+import android.os.SystemClock;
+import android.os.Trace;
+import android.util.Log;
+
+/**
+ * Marks startup phases as systrace sections and logs how long each one took
+ * Sections must be ended on the thread that began them, innermost first
+ */
+public final class StartupTrace {
+
+    private static final String TAG = "StartupTrace";
+
+    private StartupTrace() {
+    }
+
+    /**
+     * Begins a traced phase
+     * @param section Name shown in systrace and in the timing log
+     * @return Start time to pass to {@link #end(String, long)}
+     */
+    public static long begin(String section) {
+        Trace.beginSection(section);
+        return SystemClock.elapsedRealtime();
+    }
+
+    /**
+     * Ends the innermost traced phase on this thread and logs its duration
+     * @param section Same name as passed to {@link #begin(String)}
+     * @param startTime Value returned by {@link #begin(String)}
+     */
+    public static void end(String section, long startTime) {
+        Trace.endSection();
+        Log.d(TAG, section + " took " + (SystemClock.elapsedRealtime() - startTime) + " ms on "
+                + Thread.currentThread().getName());
+    }
+}
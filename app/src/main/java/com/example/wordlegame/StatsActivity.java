@@ -0,0 +1,116 @@
+package com.example.wordlegame;
+
+import android.os.Bundle;
+import android.view.Menu;
+import android.view.MenuItem;
+import android.widget.ListView;
+import android.widget.Toast;
+
+import androidx.appcompat.widget.Toolbar;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Shows win rate, streaks, guess distribution and average time per game mode
+ * Read from the statistics table, so it loads as fast with ten games as with ten thousand
+ */
+public class StatsActivity extends BaseActivity {
+
+    private ListView statsListView;
+
+    private WordleRepository repository;
+    private GameStatsAdapter statsAdapter;
+    private List<GameStats> gameStats;
+
+    private final ExecutorService loadExecutor = Executors.newSingleThreadExecutor();
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setContentView(R.layout.activity_stats);
+
+        // Set up toolbar
+        Toolbar toolbar = findViewById(R.id.toolbar);
+        setSupportActionBar(toolbar);
+        getSupportActionBar().setDisplayHomeAsUpEnabled(true);
+        getSupportActionBar().setTitle(R.string.stats_title);
+
+        // Initialize views
+        statsListView = findViewById(R.id.list_stats);
+
+        // Initialize repository
+        repository = WordleRepository.getInstance(this);
+
+        // Initialize list and adapter
+        gameStats = new ArrayList<>();
+        statsAdapter = new GameStatsAdapter(this, gameStats);
+        statsListView.setAdapter(statsAdapter);
+
+        // Load statistics
+        loadStats();
+    }
+
+    private void loadStats() {
+        loadStats(0);
+    }
+
+    /**
+     * Loads the statistics in the background, after any queued writes
+     * @param messageId Message to show once loaded, or 0 for none
+     */
+    private void loadStats(int messageId) {
+        loadExecutor.execute(() -> {
+            List<GameStats> stats = repository.getAllGameStats();
+            runOnUiThread(() -> {
+                if (isDestroyed()) {
+                    return;
+                }
+                gameStats.clear();
+                gameStats.addAll(stats);
+                statsAdapter.notifyDataSetChanged();
+
+                if (messageId != 0) {
+                    Toast.makeText(this, messageId, Toast.LENGTH_SHORT).show();
+                }
+            });
+        });
+    }
+
+    private void rebuildStats() {
+        // Reads wait for queued writes, so the reload shows the rebuilt statistics
+        repository.rebuildStatsAsync();
+        loadStats(R.string.stats_rebuilt);
+    }
+
+    @Override
+    public boolean onCreateOptionsMenu(Menu menu) {
+        getMenuInflater().inflate(R.menu.menu_stats, menu);
+        return true;
+    }
+
+    @Override
+    public boolean onOptionsItemSelected(MenuItem item) {
+        int id = item.getItemId();
+
+        if (id == android.R.id.home) {
+            // Navigate back
+            finish();
+            return true;
+        } else if (id == R.id.action_rebuild_stats) {
+            // Repair the statistics from the game history
+            rebuildStats();
+            return true;
+        }
+
+        return super.onOptionsItemSelected(item);
+    }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        loadExecutor.shutdownNow();
+    }
+}
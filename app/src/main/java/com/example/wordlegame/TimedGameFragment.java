@@ -5,6 +5,7 @@ import android.os.Bundle;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
+import android.widget.Button;
 import android.widget.TextView;
 import android.widget.Toast;
 
@@ -16,6 +17,7 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 
 /**
  * Fragment for the timed Wordle game mode
@@ -30,6 +32,7 @@ public class TimedGameFragment extends Fragment implements KeyboardAdapter.OnKey
     private RecyclerView keyboardRecyclerView;
     private TextView timerTextView;
     private TextView attemptsTextView;
+    private Button hintButton;
 
     private WordleRowAdapter boardAdapter;
     private KeyboardAdapter keyboardAdapter;
@@ -40,11 +43,16 @@ public class TimedGameFragment extends Fragment implements KeyboardAdapter.OnKey
     private int currentAttempt;
     private int currentColumn;
     private boolean gameActive;
+    private boolean validatingGuess; // A submitted guess is being checked, editing it cancels the check
+    private DictionaryManager.ValidationRequest pendingValidation;
+    private final WordConstraints constraints = new WordConstraints(); // Feedback so far, for hints
+    private final GameEventLog eventLog = new GameEventLog(); // Guesses so far, saved when the game ends
     private GameTimer gameTimer;
     private int totalTimeTaken;
 
     private GameActivity gameActivity;
     private WordGenerator wordGenerator;
+    private HintRequester hints;
 
     @Nullable
     @Override
@@ -61,6 +69,8 @@ public class TimedGameFragment extends Fragment implements KeyboardAdapter.OnKey
         keyboardRecyclerView = view.findViewById(R.id.recycler_keyboard);
         timerTextView = view.findViewById(R.id.text_timer);
         attemptsTextView = view.findViewById(R.id.text_attempts);
+        hintButton = view.findViewById(R.id.button_hint);
+        hintButton.setOnClickListener(v -> requestHint());
 
         // Get game mode from arguments
         if (getArguments() != null) {
@@ -90,6 +100,7 @@ public class TimedGameFragment extends Fragment implements KeyboardAdapter.OnKey
 
         // Initialize word generator and get secret word
         wordGenerator = new WordGenerator(requireContext());
+        hints = new HintRequester(HintSolver.get(wordGenerator.getCorpus()), hintButton, this::showHint);
         currentWord = wordGenerator.getRandomWord(false); // Use easy words for timed mode
 
         // Initialize and start timer
@@ -101,7 +112,7 @@ public class TimedGameFragment extends Fragment implements KeyboardAdapter.OnKey
     }
 
     private void setupBoardAdapter() {
-        boardAdapter = new WordleRowAdapter(guesses, WORD_LENGTH, new ArrayList<>());
+        boardAdapter = new WordleRowAdapter(guesses, WORD_LENGTH);
         boardRecyclerView.setLayoutManager(new GridLayoutManager(getContext(), 1));
         boardRecyclerView.setAdapter(boardAdapter);
     }
@@ -136,6 +147,13 @@ public class TimedGameFragment extends Fragment implements KeyboardAdapter.OnKey
         if (!gameActive) {
             return;
         }
+        if (validatingGuess) {
+            if (key.equals("ENTER")) {
+                return; // Already submitted, still being checked
+            }
+            cancelValidation(); // The player is editing the guess instead of waiting
+        }
+        hints.cancel();
 
         if (key.equals("ENTER")) {
             submitGuess();
@@ -148,26 +166,56 @@ public class TimedGameFragment extends Fragment implements KeyboardAdapter.OnKey
 
     private void addCharacter(String character) {
         if (currentColumn < WORD_LENGTH) {
+            eventLog.keyPressed();
             String currentGuess = guesses.get(currentAttempt);
             StringBuilder newGuess = new StringBuilder(currentGuess);
             newGuess.setCharAt(currentColumn, character.charAt(0));
             guesses.set(currentAttempt, newGuess.toString());
-            boardAdapter.notifyItemChanged(currentAttempt);
             currentColumn++;
+            updatePrefixHighlight();
+            boardAdapter.notifyItemChanged(currentAttempt);
         }
     }
 
     private void deleteCharacter() {
         if (currentColumn > 0) {
             currentColumn--;
+            eventLog.keyPressed();
             String currentGuess = guesses.get(currentAttempt);
             StringBuilder newGuess = new StringBuilder(currentGuess);
             newGuess.setCharAt(currentColumn, ' ');
             guesses.set(currentAttempt, newGuess.toString());
+            updatePrefixHighlight();
             boardAdapter.notifyItemChanged(currentAttempt);
         }
     }
 
+    private void updatePrefixHighlight() {
+        // Flag the row as soon as the typed letters cannot start a known word
+        boolean invalid = !wordGenerator.isValidPrefix(guesses.get(currentAttempt), currentColumn);
+        boardAdapter.setRowInvalid(currentAttempt, invalid);
+    }
+
+    private void requestHint() {
+        if (!gameActive || validatingGuess || hints.isPending()) {
+            return;
+        }
+        hints.request(constraints, false);
+    }
+
+    private void showHint(String hint) {
+        if (!gameActive || !isAdded() || hint == null) {
+            return;
+        }
+
+        // Type the hint into the current row, the player still submits it
+        eventLog.keyPressed();
+        guesses.set(currentAttempt, hint.toUpperCase(Locale.ROOT));
+        currentColumn = WORD_LENGTH;
+        updatePrefixHighlight();
+        boardAdapter.notifyItemChanged(currentAttempt);
+    }
+
     private void submitGuess() {
         // Check if the guess is complete
         if (currentColumn != WORD_LENGTH) {
@@ -177,26 +225,64 @@ public class TimedGameFragment extends Fragment implements KeyboardAdapter.OnKey
 
         String guess = guesses.get(currentAttempt).trim();
 
-        // Check if the guess is a valid word
-        if (!wordGenerator.isValidWord(guess)) {
-            Toast.makeText(getContext(), R.string.not_in_word_list, Toast.LENGTH_SHORT).show();
-            return;
+        // Check if the guess is a valid word, uncommon words may need a dictionary lookup
+        validatingGuess = true;
+        pendingValidation = wordGenerator.validateWordAsync(guess, result -> {
+            validatingGuess = false;
+            pendingValidation = null;
+            if (!gameActive || !isAdded()) {
+                return;
+            }
+
+            updateAttemptsText();
+            if (result == DictionaryManager.WORD_UNCHECKED) {
+                Toast.makeText(getContext(), R.string.word_unchecked, Toast.LENGTH_SHORT).show();
+                return;
+            }
+            if (result == DictionaryManager.WORD_INVALID) {
+                Toast.makeText(getContext(), R.string.not_in_word_list, Toast.LENGTH_SHORT).show();
+                return;
+            }
+            processGuess(guess);
+        });
+
+        // Show a pending state unless the answer was already known locally
+        if (validatingGuess) {
+            attemptsTextView.setText(R.string.checking_word);
+        } else {
+            pendingValidation = null;
         }
+    }
 
+    private void cancelValidation() {
+        validatingGuess = false;
+        pendingValidation.cancel();
+        pendingValidation = null;
+        updateAttemptsText();
+    }
+
+    private void processGuess(String guess) {
         // Process the guess
-        List<Integer> results = checkGuess(guess);
-        boardAdapter.setRowResult(currentAttempt, results);
+        int packedGuess = PackedWord.pack(guess);
+        int pattern = WordleScorer.score(packedGuess, PackedWord.pack(currentWord));
+        boardAdapter.setRowResult(currentAttempt, pattern);
         boardAdapter.notifyItemChanged(currentAttempt);
 
         // Update keyboard colors
-        keyboardAdapter.updateKeyboardState(guess, results);
+        keyboardAdapter.updateKeyboardState(packedGuess, pattern);
         keyboardAdapter.notifyDataSetChanged();
 
+        // Record the guess, it is only written to the database when the game ends
+        eventLog.add(packedGuess, pattern);
+
+        // Remember what the feedback revealed, for hints
+        constraints.apply(packedGuess, pattern);
+
         // Add time taken for this guess to total
         totalTimeTaken += TIME_PER_GUESS - gameTimer.getRemainingSeconds();
 
         // Check for win
-        if (guess.equalsIgnoreCase(currentWord)) {
+        if (pattern == WordleScorer.ALL_CORRECT) {
             endGame(true);
             return;
         }
@@ -219,30 +305,9 @@ public class TimedGameFragment extends Fragment implements KeyboardAdapter.OnKey
         gameTimer.start();
     }
 
-    private List<Integer> checkGuess(String guess) {
-        List<Integer> results = new ArrayList<>();
-
-        for (int i = 0; i < WORD_LENGTH; i++) {
-            char guessChar = Character.toLowerCase(guess.charAt(i));
-            char targetChar = Character.toLowerCase(currentWord.charAt(i));
-
-            if (guessChar == targetChar) {
-                // Correct letter, correct position
-                results.add(2);
-            } else if (currentWord.toLowerCase().indexOf(guessChar) != -1) {
-                // Correct letter, wrong position
-                results.add(1);
-            } else {
-                // Letter not in word
-                results.add(0);
-            }
-        }
-
-        return results;
-    }
-
     private void endGame(boolean isWin) {
         gameActive = false;
+        hints.cancel();
         gameTimer.pause();
 
         // Create game result
@@ -256,7 +321,7 @@ public class TimedGameFragment extends Fragment implements KeyboardAdapter.OnKey
 
         // Notify activity of game completion
         if (gameActivity != null) {
-            gameActivity.onGameComplete(result);
+            gameActivity.onGameComplete(result, eventLog);
         }
     }
 
@@ -270,16 +335,15 @@ public class TimedGameFragment extends Fragment implements KeyboardAdapter.OnKey
     public void onFinish() {
         // Time's up for this guess
         Toast.makeText(getContext(), "Time's up!", Toast.LENGTH_SHORT).show();
+        if (validatingGuess) {
+            cancelValidation(); // The guess being checked is forfeited with the row
+        }
 
         // Add full time for this guess to total
         totalTimeTaken += TIME_PER_GUESS;
 
         // Show correct row with no matches
-        List<Integer> noMatches = new ArrayList<>();
-        for (int i = 0; i < WORD_LENGTH; i++) {
-            noMatches.add(0);
-        }
-        boardAdapter.setRowResult(currentAttempt, noMatches);
+        boardAdapter.setRowResult(currentAttempt, 0);
         boardAdapter.notifyItemChanged(currentAttempt);
 
         // Move to next attempt
@@ -313,6 +377,9 @@ public class TimedGameFragment extends Fragment implements KeyboardAdapter.OnKey
     @Override
     public void onDetach() {
         super.onDetach();
+        if (hints != null) {
+            hints.cancel();
+        }
         gameActivity = null;
     }
 
@@ -0,0 +1,253 @@
+package com.example.wordlegame;
+
+import java.util.Arrays;
+
+/**
+ * What the feedback so far says about the secret word, held in primitive masks
+ * Each position has a mask of letters it may still hold and each letter has a
+ * minimum and maximum count. Applying feedback and testing a packed word
+ * never allocate, and the whole state fits in {@link #SERIALIZED_LENGTH} ints.
+ */
+public final class WordConstraints {
+
+    public static final int SERIALIZED_LENGTH = PackedWord.WORD_LENGTH + 1 + 26;
+
+    private static final int ALPHABET_SIZE = 26;
+    private static final int ALL_LETTERS = (1 << ALPHABET_SIZE) - 1;
+    private static final int COUNT_BITS = 4;
+    private static final int COUNT_MASK = (1 << COUNT_BITS) - 1;
+
+    private final int[] allowedAt = new int[PackedWord.WORD_LENGTH]; // Letters still possible per position
+    private final int[] letterCounts = new int[ALPHABET_SIZE];       // Minimum count, then maximum count << 4
+    private int excludedMask;  // Letters known to be absent
+    private int requiredMask;  // Letters known to be present at least once
+    private int countedMask;   // Letters whose count needs checking beyond the masks
+
+    /**
+     * Creates constraints that every word satisfies
+     */
+    public WordConstraints() {
+        reset();
+    }
+
+    /**
+     * Forgets all feedback
+     */
+    public void reset() {
+        Arrays.fill(allowedAt, ALL_LETTERS);
+        Arrays.fill(letterCounts, PackedWord.WORD_LENGTH << COUNT_BITS);
+        excludedMask = 0;
+        requiredMask = 0;
+        countedMask = 0;
+    }
+
+    /**
+     * Narrows the constraints with the feedback for one guess
+     * @param packedGuess The guess, packed with {@link PackedWord}
+     * @param pattern Feedback pattern from {@link WordleScorer}
+     */
+    public void apply(int packedGuess, int pattern) {
+        for (int pos = 0; pos < PackedWord.WORD_LENGTH; pos++) {
+            int letter = PackedWord.letterAt(packedGuess, pos);
+            int bit = 1 << letter;
+
+            if (WordleScorer.codeAt(pattern, pos) == WordleScorer.CORRECT) {
+                allowedAt[pos] = bit;
+            } else {
+                allowedAt[pos] &= ~bit;
+            }
+
+            // Count each distinct letter of the guess once, at its first position
+            if (firstPositionOf(packedGuess, letter) == pos) {
+                applyLetterCount(packedGuess, pattern, letter);
+            }
+        }
+    }
+
+    private void applyLetterCount(int packedGuess, int pattern, int letter) {
+        int found = 0;
+        boolean absentSeen = false;
+        for (int pos = 0; pos < PackedWord.WORD_LENGTH; pos++) {
+            if (PackedWord.letterAt(packedGuess, pos) == letter) {
+                if (WordleScorer.codeAt(pattern, pos) == WordleScorer.ABSENT) {
+                    absentSeen = true;
+                } else {
+                    found++;
+                }
+            }
+        }
+
+        int min = Math.max(getMinCount(letter), found);
+        int max = absentSeen ? found : getMaxCount(letter); // An absent copy caps the count exactly
+        letterCounts[letter] = min | (max << COUNT_BITS);
+
+        int bit = 1 << letter;
+        if (min > 0) {
+            requiredMask |= bit;
+        }
+        if (max == 0) {
+            excludedMask |= bit;
+            for (int pos = 0; pos < PackedWord.WORD_LENGTH; pos++) {
+                allowedAt[pos] &= ~bit;
+            }
+        }
+        if (min > 1 || (max > 0 && max < PackedWord.WORD_LENGTH)) {
+            countedMask |= bit;
+        }
+    }
+
+    /**
+     * Checks if a packed word is consistent with all feedback so far
+     */
+    public boolean matches(int packed) {
+        if (packed < 0) {
+            return false;
+        }
+
+        int mask = 0;
+        for (int pos = 0; pos < PackedWord.WORD_LENGTH; pos++) {
+            int bit = 1 << PackedWord.letterAt(packed, pos);
+            if ((allowedAt[pos] & bit) == 0) {
+                return false;
+            }
+            mask |= bit;
+        }
+
+        if ((mask & requiredMask) != requiredMask) {
+            return false;
+        }
+
+        // Exact counts only matter for letters seen twice or capped by an absent copy
+        int counted = mask & countedMask;
+        while (counted != 0) {
+            int letter = Integer.numberOfTrailingZeros(counted);
+            counted &= counted - 1;
+
+            int count = countOf(packed, letter);
+            if (count < getMinCount(letter) || count > getMaxCount(letter)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if a packed word has every letter whose position is known
+     * Weaker than {@link #matches(int)}: present and absent letters are ignored
+     */
+    public boolean matchesKnownPositions(int packed) {
+        if (packed < 0) {
+            return false;
+        }
+
+        for (int pos = 0; pos < PackedWord.WORD_LENGTH; pos++) {
+            int allowed = allowedAt[pos];
+            if ((allowed & (allowed - 1)) == 0
+                    && allowed != 1 << PackedWord.letterAt(packed, pos)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the mask of letters a position may still hold, bit 0 for 'a'
+     */
+    public int getAllowedLetters(int pos) {
+        return allowedAt[pos];
+    }
+
+    /**
+     * Gets the mask of letters known to be absent, bit 0 for 'a'
+     */
+    public int getExcludedLetters() {
+        return excludedMask;
+    }
+
+    /**
+     * Gets the mask of letters known to be present, bit 0 for 'a'
+     */
+    public int getRequiredLetters() {
+        return requiredMask;
+    }
+
+    /**
+     * Gets the least number of times a letter must appear
+     * @param letter 0 for 'a' to 25 for 'z'
+     */
+    public int getMinCount(int letter) {
+        return letterCounts[letter] & COUNT_MASK;
+    }
+
+    /**
+     * Gets the most number of times a letter may appear
+     * @param letter 0 for 'a' to 25 for 'z'
+     */
+    public int getMaxCount(int letter) {
+        return letterCounts[letter] >>> COUNT_BITS;
+    }
+
+    /**
+     * Makes an independent copy, e.g. to hand to another thread
+     */
+    public WordConstraints copy() {
+        return fromArray(toArray());
+    }
+
+    /**
+     * Writes the state into an int array, e.g. for a Bundle
+     */
+    public int[] toArray() {
+        int[] state = new int[SERIALIZED_LENGTH];
+        System.arraycopy(allowedAt, 0, state, 0, PackedWord.WORD_LENGTH);
+        state[PackedWord.WORD_LENGTH] = excludedMask;
+        System.arraycopy(letterCounts, 0, state, PackedWord.WORD_LENGTH + 1, ALPHABET_SIZE);
+        return state;
+    }
+
+    /**
+     * Restores constraints written by {@link #toArray()}
+     */
+    public static WordConstraints fromArray(int[] state) {
+        if (state.length != SERIALIZED_LENGTH) {
+            throw new IllegalArgumentException("Expected " + SERIALIZED_LENGTH + " ints, got " + state.length);
+        }
+
+        WordConstraints constraints = new WordConstraints();
+        System.arraycopy(state, 0, constraints.allowedAt, 0, PackedWord.WORD_LENGTH);
+        constraints.excludedMask = state[PackedWord.WORD_LENGTH];
+        System.arraycopy(state, PackedWord.WORD_LENGTH + 1, constraints.letterCounts, 0, ALPHABET_SIZE);
+
+        // The derived masks follow from the counts
+        for (int letter = 0; letter < ALPHABET_SIZE; letter++) {
+            int min = constraints.getMinCount(letter);
+            int max = constraints.getMaxCount(letter);
+            if (min > 0) {
+                constraints.requiredMask |= 1 << letter;
+            }
+            if (min > 1 || (max > 0 && max < PackedWord.WORD_LENGTH)) {
+                constraints.countedMask |= 1 << letter;
+            }
+        }
+        return constraints;
+    }
+
+    private static int firstPositionOf(int packed, int letter) {
+        for (int pos = 0; pos < PackedWord.WORD_LENGTH; pos++) {
+            if (PackedWord.letterAt(packed, pos) == letter) {
+                return pos;
+            }
+        }
+        return -1;
+    }
+
+    private static int countOf(int packed, int letter) {
+        int count = 0;
+        for (int pos = 0; pos < PackedWord.WORD_LENGTH; pos++) {
+            if (PackedWord.letterAt(packed, pos) == letter) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
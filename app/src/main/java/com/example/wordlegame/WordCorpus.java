@@ -0,0 +1,310 @@
+package com.example.wordlegame;
+
+import android.content.Context;
+import android.content.res.AssetFileDescriptor;
+import android.util.Log;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Process-wide, immutable word corpus shared by every game mode
+ * The word lists are loaded once on a background thread and each
+ * word is held exactly once, in the easy list if it appears in both
+ */
+public final class WordCorpus {
+
+    private static final String TAG = "WordCorpus";
+
+    // Packed asset generated by the packWordLists Gradle task
+    private static final String PACKED_ASSET = "words.bin";
+    private static final int PACKED_MAGIC = 0x5752444C; // "WRDL"
+    private static final int PACKED_VERSION = 1;
+    private static final int PACKED_HEADER_INTS = 4;
+
+    // Feedback matrix generated by the buildFeedbackMatrix Gradle task
+    private static final String FEEDBACK_ASSET = "feedback.bin";
+
+    private static Future<WordCorpus> loadFuture;
+
+    private final WordIndex easyIndex;
+    private final WordIndex hardIndex;
+    private final WordDawg dawg;
+    private final int[] allWords; // Easy words then hard words, positions are word ids
+    private FeedbackMatrix feedbackMatrix; // Set before the corpus is handed out
+
+    private WordCorpus(int[] easyWords, int[] hardWords) {
+        easyIndex = new WordIndex(easyWords);
+        hardIndex = new WordIndex(hardWords);
+        dawg = WordDawg.build(easyWords, hardWords);
+
+        allWords = new int[easyWords.length + hardWords.length];
+        System.arraycopy(easyWords, 0, allWords, 0, easyWords.length);
+        System.arraycopy(hardWords, 0, allWords, easyWords.length, hardWords.length);
+    }
+
+    /**
+     * Builds a corpus from word lists that are not the app's assets, e.g. in unit tests
+     * Feedback is computed on demand instead of read from the precomputed matrix.
+     * @param easyWords Packed easy words, sorted
+     * @param hardWords Packed hard words, sorted
+     */
+    static WordCorpus of(int[] easyWords, int[] hardWords) {
+        WordCorpus corpus = new WordCorpus(easyWords, hardWords);
+        corpus.feedbackMatrix = new FeedbackMatrix(corpus, null);
+        return corpus;
+    }
+
+    /**
+     * Starts loading the corpus on a background thread if it is not loaded yet
+     * @return Future that completes once the corpus is ready
+     */
+    public static synchronized Future<WordCorpus> load(Context context) {
+        if (loadFuture == null) {
+            final Context appContext = context.getApplicationContext();
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+            loadFuture = executor.submit(new Callable<WordCorpus>() {
+                @Override
+                public WordCorpus call() {
+                    return readFromResources(appContext);
+                }
+            });
+            executor.shutdown();
+        }
+        return loadFuture;
+    }
+
+    /**
+     * Gets the shared corpus, waiting for the background load if needed
+     */
+    public static WordCorpus get(Context context) {
+        try {
+            return load(context).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading word corpus", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to load word corpus", e.getCause());
+        }
+    }
+
+    /**
+     * Checks if the shared corpus has finished loading
+     */
+    public static synchronized boolean isReady() {
+        return loadFuture != null && loadFuture.isDone();
+    }
+
+    private static WordCorpus readFromResources(Context context) {
+        long start = StartupTrace.begin("WordCorpus.load");
+
+        WordCorpus corpus = readPackedAsset(context);
+        if (corpus == null) {
+            corpus = readRawWordLists(context);
+        }
+
+        corpus.feedbackMatrix = new FeedbackMatrix(corpus, mapAsset(context, FEEDBACK_ASSET));
+
+        StartupTrace.end("WordCorpus.load", start);
+        Log.d(TAG, "Loaded " + corpus.size() + " words, precomputed feedback: "
+                + corpus.feedbackMatrix.isPrecomputed());
+        return corpus;
+    }
+
+    /**
+     * Memory-maps an uncompressed asset
+     * @return The mapped bytes, or null if the asset is missing or compressed
+     */
+    private static ByteBuffer mapAsset(Context context, String name) {
+        AssetFileDescriptor descriptor = null;
+        FileInputStream inputStream = null;
+        try {
+            descriptor = context.getAssets().openFd(name);
+            inputStream = descriptor.createInputStream();
+            return inputStream.getChannel()
+                    .map(FileChannel.MapMode.READ_ONLY, descriptor.getStartOffset(), descriptor.getLength());
+        } catch (IOException e) {
+            Log.w(TAG, "Asset " + name + " cannot be mapped", e);
+            return null;
+        } finally {
+            closeQuietly(inputStream);
+            closeQuietly(descriptor);
+        }
+    }
+
+    /**
+     * Maps the packed word list asset, no parsing involved
+     * @return The corpus, or null if the asset is missing or has an unknown format
+     */
+    private static WordCorpus readPackedAsset(Context context) {
+        ByteBuffer asset = mapAsset(context, PACKED_ASSET);
+        if (asset == null) {
+            return null;
+        }
+
+        try {
+            IntBuffer buffer = asset.asIntBuffer();
+
+            if (buffer.get(0) != PACKED_MAGIC || buffer.get(1) != PACKED_VERSION) {
+                Log.w(TAG, "Unknown packed word list format, falling back to raw lists");
+                return null;
+            }
+
+            int[] easyWords = new int[buffer.get(2)];
+            int[] hardWords = new int[buffer.get(3)];
+            buffer.position(PACKED_HEADER_INTS);
+            buffer.get(easyWords);
+            buffer.get(hardWords);
+            return new WordCorpus(easyWords, hardWords);
+        } catch (RuntimeException e) {
+            Log.w(TAG, "Packed word list unreadable, falling back to raw lists", e);
+            return null;
+        }
+    }
+
+    /**
+     * Parses the raw word lists, used when the packed asset is not available
+     */
+    private static WordCorpus readRawWordLists(Context context) {
+        Set<String> easyWords = new TreeSet<>();
+        Set<String> hardWords = new TreeSet<>();
+        readWordList(context, R.raw.words_easy, easyWords);
+        readWordList(context, R.raw.words_hard, hardWords);
+        hardWords.removeAll(easyWords);
+
+        return new WordCorpus(packAll(easyWords), packAll(hardWords));
+    }
+
+    private static int[] packAll(Set<String> words) {
+        int[] packedWords = new int[words.size()];
+        int i = 0;
+        for (String word : words) {
+            packedWords[i++] = PackedWord.pack(word);
+        }
+        return packedWords;
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        if (closeable != null) {
+            try {
+                closeable.close();
+            } catch (IOException e) {
+                // Nothing left to clean up
+            }
+        }
+    }
+
+    /**
+     * Reads a word list from a raw resource file
+     */
+    private static void readWordList(Context context, int resourceId, Set<String> words) {
+        try {
+            InputStream inputStream = context.getResources().openRawResource(resourceId);
+            BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream));
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                // Ensure word is 5 letters and convert to lowercase
+                line = line.trim().toLowerCase();
+                if (line.length() == 5 && line.matches("[a-z]+")) {
+                    words.add(line);
+                }
+            }
+
+            reader.close();
+            inputStream.close();
+        } catch (IOException e) {
+            Log.e(TAG, "Error loading words from resource", e);
+        }
+    }
+
+    /**
+     * Gets the precomputed index of the easy or hard word list
+     */
+    public WordIndex getIndex(boolean isHard) {
+        return isHard ? hardIndex : easyIndex;
+    }
+
+    /**
+     * Checks if a word is part of either list, ignoring letter case, without allocating
+     */
+    public boolean contains(CharSequence word) {
+        return contains(PackedWord.pack(word));
+    }
+
+    /**
+     * Checks if a packed word is part of either list
+     */
+    public boolean contains(int packed) {
+        return easyIndex.contains(packed) || hardIndex.contains(packed);
+    }
+
+    /**
+     * Checks if any word in either list starts with the first characters of the given text
+     * @param text Characters typed so far, letter case is ignored
+     * @param length Number of characters to check
+     */
+    public boolean isValidPrefix(CharSequence text, int length) {
+        return dawg.isPrefix(text, length);
+    }
+
+    /**
+     * Gets the packed word with the given id
+     * Ids number the easy list first, then the hard list, and are stable for the whole process
+     * @param wordId Id between 0 and {@link #size()}
+     */
+    public int getPackedWord(int wordId) {
+        return allWords[wordId];
+    }
+
+    /**
+     * Gets the id of a packed word
+     * @return The word id, or -1 if the word is not in either list
+     */
+    public int getWordId(int packed) {
+        int easyCount = easyIndex.size();
+        int position = Arrays.binarySearch(allWords, 0, easyCount, packed); // Each list is sorted
+        if (position >= 0) {
+            return position;
+        }
+        position = Arrays.binarySearch(allWords, easyCount, allWords.length, packed);
+        return position >= 0 ? position : -1;
+    }
+
+    /**
+     * Gets the feedback of guesses against corpus words, indexed by word id
+     */
+    public FeedbackMatrix getFeedbackMatrix() {
+        return feedbackMatrix;
+    }
+
+    /**
+     * Gets the id of the first word of the easy or hard list
+     * The list's words have consecutive ids, as many as the list's index holds
+     */
+    public int getFirstWordId(boolean isHard) {
+        return isHard ? easyIndex.size() : 0;
+    }
+
+    /**
+     * Gets the total number of words in both lists
+     */
+    public int size() {
+        return easyIndex.size() + hardIndex.size();
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.wordlegame;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable DAWG (minimized trie) of packed 5-letter words
+ * Used to tell while the player types whether a partial guess can still
+ * become a known word. Each node stores a 26-bit mask of its outgoing
+ * letters, so following an edge is a popcount and an array read.
+ */
+public final class WordDawg {
+
+    private static final int ALPHABET_SIZE = 26;
+
+    private final int root;
+    private final int[] childMasks;   // Per node mask of letters with an outgoing edge
+    private final int[] firstChild;   // Per node offset of its first edge in children
+    private final int[] children;     // Edge targets, grouped by node and ordered by letter
+
+    private WordDawg(int root, int[] childMasks, int[] firstChild, int[] children) {
+        this.root = root;
+        this.childMasks = childMasks;
+        this.firstChild = firstChild;
+        this.children = children;
+    }
+
+    /**
+     * Builds a DAWG from packed words
+     * @param packedWords Words packed with {@link PackedWord}, in any order
+     */
+    public static WordDawg build(int[]... packedWords) {
+        TrieNode trieRoot = new TrieNode();
+        for (int[] words : packedWords) {
+            for (int packed : words) {
+                TrieNode node = trieRoot;
+                for (int pos = 0; pos < PackedWord.WORD_LENGTH; pos++) {
+                    int letter = PackedWord.letterAt(packed, pos);
+                    if (node.next[letter] == null) {
+                        node.next[letter] = new TrieNode();
+                    }
+                    node = node.next[letter];
+                }
+            }
+        }
+
+        // Merge equivalent subtrees bottom-up, then flatten into arrays
+        Builder builder = new Builder();
+        int root = builder.register(trieRoot);
+        return builder.toDawg(root);
+    }
+
+    /**
+     * Checks if any word starts with the first characters of the given text
+     * @param text Characters typed so far, letter case is ignored
+     * @param length Number of characters to check
+     * @return true if the prefix can still become a known word
+     */
+    public boolean isPrefix(CharSequence text, int length) {
+        if (length > PackedWord.WORD_LENGTH || length > text.length()) {
+            return false;
+        }
+
+        int node = root;
+        for (int i = 0; i < length; i++) {
+            int letter = PackedWord.letterIndex(text.charAt(i));
+            if (letter < 0) {
+                return false;
+            }
+
+            int mask = childMasks[node];
+            int bit = 1 << letter;
+            if ((mask & bit) == 0) {
+                return false;
+            }
+            node = children[firstChild[node] + Integer.bitCount(mask & (bit - 1))];
+        }
+        return true;
+    }
+
+    private static class TrieNode {
+        final TrieNode[] next = new TrieNode[ALPHABET_SIZE];
+    }
+
+    /**
+     * Assigns one id to every set of equivalent trie nodes
+     */
+    private static class Builder {
+        private final Map<String, Integer> registry = new HashMap<>();
+        private final List<int[]> nodeEdges = new ArrayList<>(); // Per node: mask, then targets
+        private int edgeCount;
+
+        int register(TrieNode node) {
+            int mask = 0;
+            int[] targets = new int[ALPHABET_SIZE];
+            int targetCount = 0;
+            StringBuilder signature = new StringBuilder();
+
+            for (int letter = 0; letter < ALPHABET_SIZE; letter++) {
+                if (node.next[letter] != null) {
+                    int child = register(node.next[letter]);
+                    mask |= 1 << letter;
+                    targets[targetCount++] = child;
+                    signature.append(letter).append(':').append(child).append(',');
+                }
+            }
+
+            Integer existing = registry.get(signature.toString());
+            if (existing != null) {
+                return existing;
+            }
+
+            int[] edges = new int[targetCount + 1];
+            edges[0] = mask;
+            System.arraycopy(targets, 0, edges, 1, targetCount);
+
+            int id = nodeEdges.size();
+            nodeEdges.add(edges);
+            registry.put(signature.toString(), id);
+            edgeCount += targetCount;
+            return id;
+        }
+
+        WordDawg toDawg(int root) {
+            int nodeCount = nodeEdges.size();
+            int[] childMasks = new int[nodeCount];
+            int[] firstChild = new int[nodeCount];
+            int[] children = new int[edgeCount];
+
+            int offset = 0;
+            for (int id = 0; id < nodeCount; id++) {
+                int[] edges = nodeEdges.get(id);
+                childMasks[id] = edges[0];
+                firstChild[id] = offset;
+                System.arraycopy(edges, 1, children, offset, edges.length - 1);
+                offset += edges.length - 1;
+            }
+
+            return new WordDawg(root, childMasks, firstChild, children);
+        }
+    }
+}
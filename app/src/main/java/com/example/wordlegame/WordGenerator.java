@@ -1,71 +1,39 @@
 package com.example.wordlegame;
 
 import android.content.Context;
-import android.content.res.Resources;
 
 import com.example.wordlegame.DictionaryManager;
 
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Map;
 import java.util.Random;
-import java.util.Set;
 
 /**
  * Utility class for generating random words and validating guesses
  */
 public class WordGenerator {
 
-    private final List<String> easyWords;
-    private final List<String> hardWords;
-    private final Set<String> validWords;
+    // Default wait on the dictionary API per guess, short enough not to hold up typing
+    public static final long DEFAULT_VALIDATION_TIMEOUT_MS = 300;
+
+    private final WordCorpus corpus;
     private final Random random;
     private final DictionaryManager dictionaryManager;
+    private final long validationTimeoutMs;
 
     public WordGenerator(Context context) {
-        easyWords = new ArrayList<>();
-        hardWords = new ArrayList<>();
-        validWords = new HashSet<>();
-        random = new Random();
-        dictionaryManager = DictionaryManager.getInstance(context);
-
-        // Load word lists from raw resources
-        loadWordList(context, R.raw.words_easy, easyWords);
-        loadWordList(context, R.raw.words_hard, hardWords);
-
-        // Add all words to valid words set for validation
-        validWords.addAll(easyWords);
-        validWords.addAll(hardWords);
+        this(context, DEFAULT_VALIDATION_TIMEOUT_MS);
     }
 
     /**
-     * Loads a word list from a raw resource file
+     * Constructor
+     * @param validationTimeoutMs Longest wait on the dictionary API per guess, the guess is unchecked afterwards
      */
-    private void loadWordList(Context context, int resourceId, List<String> wordList) {
-        try {
-            Resources resources = context.getResources();
-            InputStream inputStream = resources.openRawResource(resourceId);
-            BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream));
-
-            String line;
-            while ((line = reader.readLine()) != null) {
-                // Ensure word is 5 letters and convert to lowercase
-                line = line.trim().toLowerCase();
-                if (line.length() == 5) {
-                    wordList.add(line);
-                }
-            }
+    public WordGenerator(Context context, long validationTimeoutMs) {
+        this.validationTimeoutMs = validationTimeoutMs;
+        random = new Random();
+        dictionaryManager = DictionaryManager.getInstance(context);
 
-            reader.close();
-            inputStream.close();
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        // Word lists are loaded once per process and shared between games
+        corpus = WordCorpus.get(context);
     }
 
     /**
@@ -79,98 +47,31 @@ public class WordGenerator {
     }
 
     /**
-     * Checks if a word is in the valid words list or the online dictionary
+     * Checks if a word is valid without blocking, looking up words that are not known
+     * locally with the online dictionary
      * @param word The word to check
-     * @return true if the word is valid, false otherwise
+     * @param callback Callback for the result, called on the main thread
+     * @return The validation, to cancel it if the guess is edited
      */
-    public boolean isValidWord(String word) {
-        // First check our static list
-        if (validWords.contains(word.toLowerCase())) {
-            return true;
-        }
-
-        // Then check the dictionary manager
-        return dictionaryManager.isValidWord(word.toLowerCase());
+    public DictionaryManager.ValidationRequest validateWordAsync(CharSequence word, DictionaryManager.ValidationCallback callback) {
+        return dictionaryManager.validateWordAsync(word, validationTimeoutMs, callback);
     }
 
     /**
-     * Gets a subset of words that match the given pattern
-     * Used for Evil Wordle mode
-     * @param pattern The pattern to match (e.g. "a..b." where dots are wildcards)
-     * @param excluded Set of characters to exclude
-     * @param included Map of characters that must be included but not at specific positions
-     * @param isHard Whether to use the hard word list
-     * @return List of matching words
+     * Checks if a partially typed guess can still become a word from the static lists
+     * Cheap enough to call on every keystroke
+     * @param guess The guess typed so far
+     * @param length Number of letters typed
+     * @return true if some word starts with the typed letters
      */
-    public List<String> getWordsMatchingPattern(
-            String pattern,
-            Set<Character> excluded,
-            Map<Character, List<Integer>> included,
-            boolean isHard) {
-
-        List<String> result = new ArrayList<>();
-        List<String> sourceList = isHard ? hardWords : easyWords;
-
-        for (String word : sourceList) {
-            if (matchesPattern(word, pattern, excluded, included)) {
-                result.add(word);
-            }
-        }
-
-        // If we have very few results, check the expanded dictionary too
-        if (result.size() < 5) {
-            for (String word : dictionaryManager.getAllWords()) {
-                if (!sourceList.contains(word) && matchesPattern(word, pattern, excluded, included)) {
-                    result.add(word);
-                }
-            }
-        }
-
-        return result;
+    public boolean isValidPrefix(CharSequence guess, int length) {
+        return corpus.isValidPrefix(guess, length);
     }
 
     /**
-     * Checks if a word matches the given pattern and constraints
+     * Gets the shared word corpus behind both lists
      */
-    private boolean matchesPattern(
-            String word,
-            String pattern,
-            Set<Character> excluded,
-            Map<Character, List<Integer>> included) {
-
-        // Check pattern (correct positions)
-        for (int i = 0; i < pattern.length(); i++) {
-            char patternChar = pattern.charAt(i);
-            if (patternChar != '.' && patternChar != word.charAt(i)) {
-                return false;
-            }
-        }
-
-        // Check excluded characters
-        for (char c : excluded) {
-            if (word.indexOf(c) != -1) {
-                return false;
-            }
-        }
-
-        // Check included characters (wrong positions)
-        for (Map.Entry<Character, List<Integer>> entry : included.entrySet()) {
-            char c = entry.getKey();
-            List<Integer> positions = entry.getValue();
-
-            // Character must be present in the word
-            if (word.indexOf(c) == -1) {
-                return false;
-            }
-
-            // Character must not be at any of the specified positions
-            for (int pos : positions) {
-                if (word.charAt(pos) == c) {
-                    return false;
-                }
-            }
-        }
-
-        return true;
+    public WordCorpus getCorpus() {
+        return corpus;
     }
-}
\ No newline at end of file
+}
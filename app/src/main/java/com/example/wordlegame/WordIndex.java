@@ -0,0 +1,157 @@
+package com.example.wordlegame;
+
+/**
+ * Precomputed bitset index over a fixed list of packed 5-letter words
+ * Candidate queries for Evil mode and hints are answered with AND/ANDNOT
+ * over long[] bitsets instead of scanning and testing every word
+ */
+public class WordIndex {
+
+    private static final int WORD_LENGTH = 5;
+    private static final int ALPHABET_SIZE = 26;
+    private static final int ALL_LETTERS = (1 << ALPHABET_SIZE) - 1;
+
+    private final int[] packedWords;
+    private final PackedWordSet wordSet;
+    private final int blockCount;
+    private final long[] allBits;
+    private final long[][] positionBits; // [position * 26 + letter] -> words with letter at position
+    private final long[][] letterBits;   // [letter] -> words containing letter anywhere
+
+    /**
+     * Constructor
+     * @param packedWords Words to index, packed with {@link PackedWord}
+     */
+    public WordIndex(int[] packedWords) {
+        this.packedWords = packedWords.clone();
+        this.wordSet = PackedWordSet.of(packedWords);
+        this.blockCount = (packedWords.length + 63) >>> 6;
+        this.allBits = new long[blockCount];
+        this.positionBits = new long[WORD_LENGTH * ALPHABET_SIZE][blockCount];
+        this.letterBits = new long[ALPHABET_SIZE][blockCount];
+
+        for (int i = 0; i < packedWords.length; i++) {
+            int packed = packedWords[i];
+            int block = i >>> 6;
+            long bit = 1L << i;
+
+            allBits[block] |= bit;
+            for (int pos = 0; pos < WORD_LENGTH; pos++) {
+                int letter = PackedWord.letterAt(packed, pos);
+                positionBits[pos * ALPHABET_SIZE + letter][block] |= bit;
+                letterBits[letter][block] |= bit;
+            }
+        }
+    }
+
+    /**
+     * Gets the number of indexed words
+     */
+    public int size() {
+        return packedWords.length;
+    }
+
+    /**
+     * Gets the packed word at the given index
+     */
+    public int getPackedWord(int index) {
+        return packedWords[index];
+    }
+
+    /**
+     * Copies the packed words in index order
+     */
+    public int[] getPackedWords() {
+        return packedWords.clone();
+    }
+
+    /**
+     * Checks if a word is part of this index, ignoring letter case, without allocating
+     */
+    public boolean contains(CharSequence word) {
+        return wordSet.contains(word);
+    }
+
+    /**
+     * Checks if a packed word is part of this index
+     */
+    public boolean contains(int packed) {
+        return wordSet.contains(packed);
+    }
+
+    /**
+     * Finds all indexed words that match the given constraints
+     * Positions and required letters are applied as bitset operations,
+     * only the survivors are checked one by one for letter counts
+     * @param constraints Feedback constraints
+     * @return Bitset of matching word indexes
+     */
+    public long[] query(WordConstraints constraints) {
+        long[] result = allBits.clone();
+
+        for (int pos = 0; pos < WORD_LENGTH; pos++) {
+            int allowed = constraints.getAllowedLetters(pos);
+            if (Integer.bitCount(allowed) == 1) {
+                and(result, positionBits[pos * ALPHABET_SIZE + Integer.numberOfTrailingZeros(allowed)]);
+                continue;
+            }
+
+            int forbidden = ~allowed & ALL_LETTERS;
+            while (forbidden != 0) {
+                andNot(result, positionBits[pos * ALPHABET_SIZE + Integer.numberOfTrailingZeros(forbidden)]);
+                forbidden &= forbidden - 1;
+            }
+        }
+
+        int required = constraints.getRequiredLetters();
+        while (required != 0) {
+            and(result, letterBits[Integer.numberOfTrailingZeros(required)]);
+            required &= required - 1;
+        }
+
+        // Letter counts are rare enough to check per surviving word
+        for (int block = 0; block < result.length; block++) {
+            long value = result[block];
+            while (value != 0) {
+                long lowest = value & -value;
+                if (!constraints.matches(packedWords[(block << 6) + Long.numberOfTrailingZeros(value)])) {
+                    result[block] &= ~lowest;
+                }
+                value &= value - 1;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Writes the indexes selected by a query result, in index order
+     * @param bits Bitset returned by {@link #query(WordConstraints)}
+     * @param offset Added to every index, e.g. the corpus id of the first indexed word
+     * @param out Receives the indexes, at least {@link #size()} long
+     * @return Number of indexes written
+     */
+    public static int getIndexes(long[] bits, int offset, int[] out) {
+        int count = 0;
+        for (int block = 0; block < bits.length; block++) {
+            long value = bits[block];
+            while (value != 0) {
+                out[count++] = offset + (block << 6) + Long.numberOfTrailingZeros(value);
+                value &= value - 1;
+            }
+        }
+        return count;
+    }
+
+    private static void and(long[] target, long[] other) {
+        for (int i = 0; i < target.length; i++) {
+            target[i] &= other[i];
+        }
+    }
+
+    private static void andNot(long[] target, long[] other) {
+        for (int i = 0; i < target.length; i++) {
+            target[i] &= ~other[i];
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.wordlegame;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Array-backed pool of packed words for picking secret words
+ * Supports O(1) uniform picks, O(1) weighted picks through an alias table
+ * and skipping recently played words, all without allocating per pick
+ */
+public class WordSampler {
+
+    private static final int MAX_REJECTIONS = 16;
+
+    private final Random random;
+    private int[] words;
+    private float[] weights;
+    private int size;
+
+    // Alias table for weighted picks, rebuilt lazily after the pool changes
+    private float[] aliasProbability;
+    private int[] alias;
+    private boolean aliasDirty;
+
+    // Ring buffer of recently picked words
+    private final int[] recent;
+    private int recentCount;
+    private int recentPosition;
+
+    /**
+     * Constructor
+     * @param initialWords Packed words to start with, all with weight 1
+     * @param recentCapacity Number of recent picks to avoid repeating
+     * @param random Source of randomness
+     */
+    public WordSampler(int[] initialWords, int recentCapacity, Random random) {
+        this.random = random;
+        this.words = Arrays.copyOf(initialWords, Math.max(initialWords.length, 16));
+        this.weights = new float[words.length];
+        Arrays.fill(weights, 0, initialWords.length, 1f);
+        this.size = initialWords.length;
+        this.recent = new int[recentCapacity];
+        this.aliasDirty = true;
+    }
+
+    /**
+     * Adds a packed word with weight 1
+     */
+    public synchronized void add(int packed) {
+        add(packed, 1f);
+    }
+
+    /**
+     * Adds a packed word with the given weight
+     * The caller is responsible for not adding a word twice
+     */
+    public synchronized void add(int packed, float weight) {
+        if (size == words.length) {
+            words = Arrays.copyOf(words, size * 2);
+            weights = Arrays.copyOf(weights, size * 2);
+        }
+        words[size] = packed;
+        weights[size] = weight;
+        size++;
+        aliasDirty = true;
+    }
+
+    /**
+     * Gets the number of words in the pool
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Picks a word uniformly, avoiding recently picked words when possible
+     * @return The packed word, or {@link PackedWord#INVALID} if the pool is empty
+     */
+    public synchronized int pick() {
+        if (size == 0) {
+            return PackedWord.INVALID;
+        }
+
+        int packed = words[random.nextInt(size)];
+        for (int attempt = 0; attempt < MAX_REJECTIONS && isRecent(packed) && size > recentCount; attempt++) {
+            packed = words[random.nextInt(size)];
+        }
+
+        remember(packed);
+        return packed;
+    }
+
+    /**
+     * Picks a word with probability proportional to its weight,
+     * avoiding recently picked words when possible
+     * @return The packed word, or {@link PackedWord#INVALID} if the pool is empty
+     */
+    public synchronized int pickWeighted() {
+        if (size == 0) {
+            return PackedWord.INVALID;
+        }
+        if (aliasDirty) {
+            buildAliasTable();
+        }
+
+        int packed = words[aliasSample()];
+        for (int attempt = 0; attempt < MAX_REJECTIONS && isRecent(packed) && size > recentCount; attempt++) {
+            packed = words[aliasSample()];
+        }
+
+        remember(packed);
+        return packed;
+    }
+
+    private int aliasSample() {
+        int column = random.nextInt(size);
+        return random.nextFloat() < aliasProbability[column] ? column : alias[column];
+    }
+
+    /**
+     * Builds the alias table with Vose's method
+     */
+    private void buildAliasTable() {
+        aliasProbability = new float[size];
+        alias = new int[size];
+
+        double total = 0;
+        for (int i = 0; i < size; i++) {
+            total += weights[i];
+        }
+
+        // Scaled probabilities, with small and large columns kept as two stacks
+        double[] scaled = new double[size];
+        int[] small = new int[size];
+        int[] large = new int[size];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < size; i++) {
+            scaled[i] = total > 0 ? weights[i] * size / total : 1.0;
+            if (scaled[i] < 1.0) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            aliasProbability[less] = (float) scaled[less];
+            alias[less] = more;
+
+            scaled[more] = scaled[more] + scaled[less] - 1.0;
+            if (scaled[more] < 1.0) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+
+        // Leftovers are full columns, up to rounding
+        while (largeCount > 0) {
+            aliasProbability[large[--largeCount]] = 1f;
+        }
+        while (smallCount > 0) {
+            aliasProbability[small[--smallCount]] = 1f;
+        }
+
+        aliasDirty = false;
+    }
+
+    private boolean isRecent(int packed) {
+        for (int i = 0; i < recentCount; i++) {
+            if (recent[i] == packed) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void remember(int packed) {
+        if (recent.length == 0) {
+            return;
+        }
+        recent[recentPosition] = packed;
+        recentPosition = (recentPosition + 1) % recent.length;
+        if (recentCount < recent.length) {
+            recentCount++;
+        }
+    }
+}
@@ -22,16 +22,120 @@ public final class WordleContract {
         public static final String COLUMN_RESULT = "result";
         public static final String COLUMN_DATE_PLAYED = "date_played";
 
-        // Create table statement
+        // Values of the result column
+        public static final int RESULT_LOSS = 0;
+        public static final int RESULT_WIN = 1;
+
+        // game_mode of rows migrated from a game mode no version knows, kept but not shown
+        public static final int GAME_MODE_UNKNOWN = -1;
+
+        // Create table statement; game_mode holds GameMode codes, date_played epoch milliseconds
         public static final String SQL_CREATE_TABLE =
                 "CREATE TABLE " + TABLE_NAME + " (" +
                         _ID + " INTEGER PRIMARY KEY AUTOINCREMENT," +
                         COLUMN_WORD + " TEXT NOT NULL," +
-                        COLUMN_GAME_MODE + " TEXT NOT NULL," +
+                        COLUMN_GAME_MODE + " INTEGER NOT NULL," +
                         COLUMN_TIME_TAKEN + " INTEGER NOT NULL," +
                         COLUMN_GUESSES_USED + " INTEGER NOT NULL," +
-                        COLUMN_RESULT + " TEXT NOT NULL," +
-                        COLUMN_DATE_PLAYED + " TEXT NOT NULL)";
+                        COLUMN_RESULT + " INTEGER NOT NULL," +
+                        COLUMN_DATE_PLAYED + " INTEGER NOT NULL)";
+
+        // Index for history pages of all game modes, newest first
+        public static final String INDEX_DATE_PLAYED = "index_" + TABLE_NAME + "_" + COLUMN_DATE_PLAYED;
+        public static final String SQL_CREATE_DATE_INDEX =
+                "CREATE INDEX " + INDEX_DATE_PLAYED + " ON " + TABLE_NAME +
+                        " (" + COLUMN_DATE_PLAYED + ", " + _ID + ")";
+
+        // Index for history pages and statistics of one game mode
+        public static final String INDEX_MODE_DATE_PLAYED = "index_" + TABLE_NAME + "_" + COLUMN_GAME_MODE + "_" + COLUMN_DATE_PLAYED;
+        public static final String SQL_CREATE_MODE_DATE_INDEX =
+                "CREATE INDEX " + INDEX_MODE_DATE_PLAYED + " ON " + TABLE_NAME +
+                        " (" + COLUMN_GAME_MODE + ", " + COLUMN_DATE_PLAYED + ", " + _ID + ")";
+
+        // Delete table statement
+        public static final String SQL_DELETE_TABLE =
+                "DROP TABLE IF EXISTS " + TABLE_NAME;
+    }
+
+    /**
+     * Inner class that defines the statistics table, one row of running totals per game mode code
+     */
+    public static class GameStatsEntry {
+        public static final String TABLE_NAME = "game_stats";
+        public static final String COLUMN_GAME_MODE = "game_mode";
+        public static final String COLUMN_GAMES_PLAYED = "games_played";
+        public static final String COLUMN_WINS = "wins";
+        public static final String COLUMN_TOTAL_TIME = "total_time";
+        public static final String COLUMN_CURRENT_STREAK = "current_streak";
+        public static final String COLUMN_MAX_STREAK = "max_streak";
+
+        // Wins per number of guesses, from 1 to 6
+        public static final String[] COLUMN_WINS_IN = {
+                "wins_in_1", "wins_in_2", "wins_in_3", "wins_in_4", "wins_in_5", "wins_in_6"};
+
+        // Create table statement
+        public static final String SQL_CREATE_TABLE =
+                "CREATE TABLE " + TABLE_NAME + " (" +
+                        COLUMN_GAME_MODE + " INTEGER PRIMARY KEY," +
+                        COLUMN_GAMES_PLAYED + " INTEGER NOT NULL," +
+                        COLUMN_WINS + " INTEGER NOT NULL," +
+                        COLUMN_TOTAL_TIME + " INTEGER NOT NULL," +
+                        COLUMN_CURRENT_STREAK + " INTEGER NOT NULL," +
+                        COLUMN_MAX_STREAK + " INTEGER NOT NULL," +
+                        COLUMN_WINS_IN[0] + " INTEGER NOT NULL," +
+                        COLUMN_WINS_IN[1] + " INTEGER NOT NULL," +
+                        COLUMN_WINS_IN[2] + " INTEGER NOT NULL," +
+                        COLUMN_WINS_IN[3] + " INTEGER NOT NULL," +
+                        COLUMN_WINS_IN[4] + " INTEGER NOT NULL," +
+                        COLUMN_WINS_IN[5] + " INTEGER NOT NULL)";
+
+        // Delete table statement
+        public static final String SQL_DELETE_TABLE =
+                "DROP TABLE IF EXISTS " + TABLE_NAME;
+    }
+
+    /**
+     * Inner class that defines the game events table, one row per scored guess
+     */
+    public static class GameEventEntry implements BaseColumns {
+        public static final String TABLE_NAME = "game_events";
+        public static final String COLUMN_GAME_ID = "game_id";
+        public static final String COLUMN_GUESS_INDEX = "guess_index";
+        public static final String COLUMN_GUESS = "guess";
+        public static final String COLUMN_PATTERN = "pattern";
+        public static final String COLUMN_TIMESTAMP = "timestamp";
+        public static final String COLUMN_TYPING_TIME = "typing_time";
+        public static final String COLUMN_KEYSTROKE_TIMES = "keystroke_times";
+
+        // Create table statement; guess holds a PackedWord, pattern a WordleScorer code,
+        // keystroke_times the GameEventLog key deltas as big-endian 4-byte ints, null before version 5
+        public static final String SQL_CREATE_TABLE =
+                "CREATE TABLE " + TABLE_NAME + " (" +
+                        _ID + " INTEGER PRIMARY KEY AUTOINCREMENT," +
+                        COLUMN_GAME_ID + " INTEGER NOT NULL," +
+                        COLUMN_GUESS_INDEX + " INTEGER NOT NULL," +
+                        COLUMN_GUESS + " INTEGER NOT NULL," +
+                        COLUMN_PATTERN + " INTEGER NOT NULL," +
+                        COLUMN_TIMESTAMP + " INTEGER NOT NULL," +
+                        COLUMN_TYPING_TIME + " INTEGER NOT NULL," +
+                        COLUMN_KEYSTROKE_TIMES + " BLOB)";
+
+        // Index for reading and deleting the guesses of one game
+        public static final String INDEX_GAME_ID = "index_" + TABLE_NAME + "_" + COLUMN_GAME_ID;
+        public static final String SQL_CREATE_GAME_INDEX =
+                "CREATE INDEX " + INDEX_GAME_ID + " ON " + TABLE_NAME +
+                        " (" + COLUMN_GAME_ID + ", " + COLUMN_GUESS_INDEX + ")";
+
+        // Insert statement, compiled once and reused for every guess
+        public static final String SQL_INSERT =
+                "INSERT INTO " + TABLE_NAME + " (" +
+                        COLUMN_GAME_ID + ", " +
+                        COLUMN_GUESS_INDEX + ", " +
+                        COLUMN_GUESS + ", " +
+                        COLUMN_PATTERN + ", " +
+                        COLUMN_TIMESTAMP + ", " +
+                        COLUMN_TYPING_TIME + ", " +
+                        COLUMN_KEYSTROKE_TIMES + ") VALUES (?, ?, ?, ?, ?, ?, ?)";
 
         // Delete table statement
         public static final String SQL_DELETE_TABLE =
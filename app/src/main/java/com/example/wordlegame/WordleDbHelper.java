@@ -10,7 +10,7 @@ import android.database.sqlite.SQLiteOpenHelper;
 public class WordleDbHelper extends SQLiteOpenHelper {
 
     // Database version and name
-    private static final int DATABASE_VERSION = 1;
+    private static final int DATABASE_VERSION = 5; // See WordleMigrations for each version
     private static final String DATABASE_NAME = "Wordle.db";
 
     /**
@@ -18,6 +18,9 @@ public class WordleDbHelper extends SQLiteOpenHelper {
      */
     public WordleDbHelper(Context context) {
         super(context, DATABASE_NAME, null, DATABASE_VERSION);
+
+        // Readers use their own snapshot of the database instead of waiting for the writer
+        setWriteAheadLoggingEnabled(true);
     }
 
     @Override
@@ -25,18 +28,30 @@ public class WordleDbHelper extends SQLiteOpenHelper {
         // Create tables
         db.execSQL(WordleContract.GameResultEntry.SQL_CREATE_TABLE);
         db.execSQL(WordleContract.WordEntry.SQL_CREATE_TABLE);
+        db.execSQL(WordleContract.GameStatsEntry.SQL_CREATE_TABLE);
+        db.execSQL(WordleContract.GameEventEntry.SQL_CREATE_TABLE);
+
+        // Create indexes
+        db.execSQL(WordleContract.GameResultEntry.SQL_CREATE_DATE_INDEX);
+        db.execSQL(WordleContract.GameResultEntry.SQL_CREATE_MODE_DATE_INDEX);
+        db.execSQL(WordleContract.GameEventEntry.SQL_CREATE_GAME_INDEX);
     }
 
     @Override
     public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
-        // On upgrade, drop older tables and recreate
-        db.execSQL(WordleContract.GameResultEntry.SQL_DELETE_TABLE);
-        db.execSQL(WordleContract.WordEntry.SQL_DELETE_TABLE);
-        onCreate(db);
+        // Upgrade one version at a time, keeping the game history
+        for (int version = oldVersion + 1; version <= newVersion; version++) {
+            WordleMigrations.migrate(db, version);
+        }
     }
 
     @Override
     public void onDowngrade(SQLiteDatabase db, int oldVersion, int newVersion) {
-        onUpgrade(db, oldVersion, newVersion);
+        // On downgrade, drop newer tables and recreate
+        db.execSQL(WordleContract.GameResultEntry.SQL_DELETE_TABLE);
+        db.execSQL(WordleContract.WordEntry.SQL_DELETE_TABLE);
+        db.execSQL(WordleContract.GameStatsEntry.SQL_DELETE_TABLE);
+        db.execSQL(WordleContract.GameEventEntry.SQL_DELETE_TABLE);
+        onCreate(db);
     }
 }
\ No newline at end of file
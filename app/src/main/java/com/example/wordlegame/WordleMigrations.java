@@ -0,0 +1,270 @@
+package com.example.wordlegame;
+
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+import android.util.Log;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Locale;
+
+/**
+ * Schema migrations for {@link WordleDbHelper}, one per database version
+ * Each migration moves the schema up by exactly one version and keeps every row.
+ * A migration spells out every schema and statement it uses, old and new,
+ * since the contract only describes the latest version. They run inside the helper's upgrade transaction,
+ * so a failed upgrade leaves the database as it was.
+ */
+final class WordleMigrations {
+
+    private static final String TAG = "WordleMigrations";
+
+    // Format of the TEXT dates of version 2 and earlier
+    private static final String LEGACY_DATE_FORMAT = "yyyy-MM-dd HH:mm:ss";
+
+    // Version 3 game mode codes, by position; frozen even if GameMode changes
+    private static final String[] VERSION_3_GAME_MODES = {"NORMAL_EASY", "NORMAL_HARD", "TIMED", "EVIL", "EMOJI"};
+
+    // Placeholders for version 2 values that cannot be converted, see GameResultEntry.GAME_MODE_UNKNOWN and GameResult.DATE_UNKNOWN
+    private static final int UNKNOWN_GAME_MODE = -1;
+    private static final long UNKNOWN_DATE = -1;
+
+    // games_played, wins, total_time, current_streak, max_streak, wins_in_1 to wins_in_6
+    private static final int VERSION_3_STATS_COLUMNS = 11;
+
+    private WordleMigrations() {
+    }
+
+    /**
+     * Migrates the schema from the version before the given one
+     * @param toVersion The version to reach, at least 2
+     */
+    static void migrate(SQLiteDatabase db, int toVersion) {
+        switch (toVersion) {
+            case 2:
+                migrateToVersion2(db);
+                break;
+            case 3:
+                migrateToVersion3(db);
+                break;
+            case 4:
+                migrateToVersion4(db);
+                break;
+            case 5:
+                migrateToVersion5(db);
+                break;
+            default:
+                throw new IllegalArgumentException("No migration to version " + toVersion);
+        }
+        Log.i(TAG, "Migrated database to version " + toVersion);
+    }
+
+    /**
+     * Version 2: statistics table keyed by game mode name
+     * Left empty, version 3 fills it from the converted game results
+     */
+    private static void migrateToVersion2(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE game_stats (" +
+                "game_mode TEXT PRIMARY KEY," +
+                "games_played INTEGER NOT NULL," +
+                "wins INTEGER NOT NULL," +
+                "total_time INTEGER NOT NULL," +
+                "current_streak INTEGER NOT NULL," +
+                "max_streak INTEGER NOT NULL," +
+                "wins_in_1 INTEGER NOT NULL," +
+                "wins_in_2 INTEGER NOT NULL," +
+                "wins_in_3 INTEGER NOT NULL," +
+                "wins_in_4 INTEGER NOT NULL," +
+                "wins_in_5 INTEGER NOT NULL," +
+                "wins_in_6 INTEGER NOT NULL)");
+    }
+
+    /**
+     * Version 3: integer game mode, result and epoch date columns, indexed for history pages
+     * SQLite cannot change column types, so game_results is copied into a new table.
+     * Rows with a game mode or date this version cannot read are kept under
+     * {@link #UNKNOWN_GAME_MODE} and {@link #UNKNOWN_DATE} instead of being dropped.
+     */
+    private static void migrateToVersion3(SQLiteDatabase db) {
+        db.execSQL("ALTER TABLE game_results RENAME TO game_results_v2");
+        db.execSQL("CREATE TABLE game_results (" +
+                "_id INTEGER PRIMARY KEY AUTOINCREMENT," +
+                "word TEXT NOT NULL," +
+                "game_mode INTEGER NOT NULL," +
+                "time_taken INTEGER NOT NULL," +
+                "guesses_used INTEGER NOT NULL," +
+                "result INTEGER NOT NULL," +
+                "date_played INTEGER NOT NULL)");
+
+        SQLiteStatement insert = db.compileStatement("INSERT INTO game_results" +
+                " (_id, word, game_mode, time_taken, guesses_used, result, date_played)" +
+                " VALUES (?, ?, ?, ?, ?, ?, ?)");
+        Cursor cursor = db.rawQuery("SELECT _id, word, game_mode, time_taken, guesses_used, result, date_played" +
+                " FROM game_results_v2", null);
+
+        // Dates were written with the device's default locale, so parse them the same way
+        SimpleDateFormat localFormat = new SimpleDateFormat(LEGACY_DATE_FORMAT, Locale.getDefault());
+        SimpleDateFormat rootFormat = new SimpleDateFormat(LEGACY_DATE_FORMAT, Locale.ROOT);
+        int unknownModes = 0;
+        int unknownDates = 0;
+        while (cursor.moveToNext()) {
+            int gameMode = legacyGameModeCode(cursor.getString(2));
+            if (gameMode == UNKNOWN_GAME_MODE) {
+                unknownModes++;
+            }
+            long datePlayed = parseLegacyDate(cursor.getString(6), localFormat, rootFormat);
+            if (datePlayed == UNKNOWN_DATE) {
+                unknownDates++;
+            }
+
+            insert.clearBindings();
+            insert.bindLong(1, cursor.getLong(0));
+            insert.bindString(2, cursor.getString(1));
+            insert.bindLong(3, gameMode);
+            insert.bindLong(4, cursor.getLong(3));
+            insert.bindLong(5, cursor.getLong(4));
+            insert.bindLong(6, "WIN".equals(cursor.getString(5)) ? 1 : 0);
+            insert.bindLong(7, datePlayed);
+            insert.executeInsert();
+        }
+        cursor.close();
+        insert.close();
+
+        if (unknownModes > 0 || unknownDates > 0) {
+            Log.w(TAG, "Kept " + unknownModes + " game results with an unknown game mode and "
+                    + unknownDates + " with an unreadable date");
+        }
+
+        db.execSQL("DROP TABLE game_results_v2");
+        db.execSQL("CREATE INDEX index_game_results_date_played ON game_results (date_played, _id)");
+        db.execSQL("CREATE INDEX index_game_results_game_mode_date_played ON game_results (game_mode, date_played, _id)");
+
+        // Statistics only derive from game results, so they are rebuilt under the new keys
+        db.execSQL("DROP TABLE IF EXISTS game_stats");
+        db.execSQL("CREATE TABLE game_stats (" +
+                "game_mode INTEGER PRIMARY KEY," +
+                "games_played INTEGER NOT NULL," +
+                "wins INTEGER NOT NULL," +
+                "total_time INTEGER NOT NULL," +
+                "current_streak INTEGER NOT NULL," +
+                "max_streak INTEGER NOT NULL," +
+                "wins_in_1 INTEGER NOT NULL," +
+                "wins_in_2 INTEGER NOT NULL," +
+                "wins_in_3 INTEGER NOT NULL," +
+                "wins_in_4 INTEGER NOT NULL," +
+                "wins_in_5 INTEGER NOT NULL," +
+                "wins_in_6 INTEGER NOT NULL)");
+        rebuildVersion3Stats(db);
+    }
+
+    /**
+     * Fills the version 3 statistics from the converted game results, oldest first per mode
+     * Spelled out here rather than shared with {@link GameStatsTable}, so later
+     * schema changes cannot alter what this migration writes.
+     */
+    private static void rebuildVersion3Stats(SQLiteDatabase db) {
+        SQLiteStatement insert = db.compileStatement("INSERT INTO game_stats" +
+                " (game_mode, games_played, wins, total_time, current_streak, max_streak," +
+                " wins_in_1, wins_in_2, wins_in_3, wins_in_4, wins_in_5, wins_in_6)" +
+                " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+        Cursor cursor = db.rawQuery("SELECT game_mode, result, guesses_used, time_taken FROM game_results" +
+                " WHERE game_mode >= 0 ORDER BY game_mode, date_played, _id", null);
+
+        int gameMode = UNKNOWN_GAME_MODE;
+        long[] totals = new long[VERSION_3_STATS_COLUMNS]; // Same order as the insert, after game_mode
+        while (cursor.moveToNext()) {
+            if (cursor.getInt(0) != gameMode) {
+                if (gameMode != UNKNOWN_GAME_MODE) {
+                    insertVersion3Stats(insert, gameMode, totals);
+                }
+                gameMode = cursor.getInt(0);
+                totals = new long[VERSION_3_STATS_COLUMNS];
+            }
+
+            int guessesUsed = cursor.getInt(2);
+            totals[0]++;
+            totals[2] += cursor.getLong(3);
+            if (cursor.getInt(1) == 1) {
+                totals[1]++;
+                totals[3]++;
+                totals[4] = Math.max(totals[4], totals[3]);
+                if (guessesUsed >= 1 && guessesUsed <= 6) {
+                    totals[4 + guessesUsed]++;
+                }
+            } else {
+                totals[3] = 0;
+            }
+        }
+        if (gameMode != UNKNOWN_GAME_MODE) {
+            insertVersion3Stats(insert, gameMode, totals);
+        }
+        cursor.close();
+        insert.close();
+    }
+
+    private static void insertVersion3Stats(SQLiteStatement insert, int gameMode, long[] totals) {
+        insert.clearBindings();
+        insert.bindLong(1, gameMode);
+        for (int i = 0; i < totals.length; i++) {
+            insert.bindLong(i + 2, totals[i]);
+        }
+        insert.executeInsert();
+    }
+
+    /**
+     * Version 4: per-guess event log, empty for games played before it
+     */
+    private static void migrateToVersion4(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE game_events (" +
+                "_id INTEGER PRIMARY KEY AUTOINCREMENT," +
+                "game_id INTEGER NOT NULL," +
+                "guess_index INTEGER NOT NULL," +
+                "guess INTEGER NOT NULL," +
+                "pattern INTEGER NOT NULL," +
+                "timestamp INTEGER NOT NULL," +
+                "typing_time INTEGER NOT NULL)");
+        db.execSQL("CREATE INDEX index_game_events_game_id ON game_events (game_id, guess_index)");
+    }
+
+    /**
+     * Version 5: time between the keys of each guess, null for guesses saved before it
+     */
+    private static void migrateToVersion5(SQLiteDatabase db) {
+        db.execSQL("ALTER TABLE game_events ADD COLUMN keystroke_times BLOB");
+    }
+
+    /**
+     * Maps a version 2 game mode name to its version 3 code
+     * @return The code, or {@link #UNKNOWN_GAME_MODE} for a name no version 3 mode had
+     */
+    private static int legacyGameModeCode(String name) {
+        for (int code = 0; code < VERSION_3_GAME_MODES.length; code++) {
+            if (VERSION_3_GAME_MODES[code].equals(name)) {
+                return code;
+            }
+        }
+        return UNKNOWN_GAME_MODE;
+    }
+
+    /**
+     * Parses a version 2 date, falling back to the locale-independent format
+     * @return Epoch milliseconds, or {@link #UNKNOWN_DATE} if the date cannot be read
+     */
+    private static long parseLegacyDate(String date, SimpleDateFormat localFormat, SimpleDateFormat rootFormat) {
+        if (date == null) {
+            return UNKNOWN_DATE;
+        }
+        try {
+            return localFormat.parse(date).getTime();
+        } catch (ParseException e) {
+            // Fall through to the locale-independent format
+        }
+        try {
+            return rootFormat.parse(date).getTime();
+        } catch (ParseException e) {
+            Log.w(TAG, "Unreadable date " + date);
+            return UNKNOWN_DATE;
+        }
+    }
+}
@@ -4,154 +4,538 @@ import android.content.ContentValues;
 import android.content.Context;
 import android.database.Cursor;
 import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+import android.os.SystemClock;
+import android.util.Log;
 
 import com.example.wordlegame.GameMode;
 import com.example.wordlegame.GameResult;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Repository class for database operations
+ * One instance per process keeps a single connection open, in write-ahead
+ * logging mode, instead of opening and closing the database on every call.
+ * Writes are queued to a single background writer and return futures; writes
+ * that arrive while the writer is busy are committed together in one transaction,
+ * and a write that fails is rolled back without taking the others with it.
  */
 public class WordleRepository {
 
+    private static final String TAG = "WordleRepository";
+
+    // Operation names for latency metrics
+    public static final String OP_SAVE = "save";
+    public static final String OP_QUERY = "query";
+    public static final String OP_DELETE = "delete";
+    public static final String OP_CLEAR = "clear";
+    public static final String OP_STATS = "stats";
+    public static final String OP_REBUILD_STATS = "rebuild_stats";
+
+    private static final int LATENCY_SAMPLES = 128;
+    private static final int LATENCY_LOG_INTERVAL = 20; // Log percentiles every 20 calls of an operation
+
+    private static WordleRepository instance;
+
     private final WordleDbHelper dbHelper;
+    private final Map<String, LatencyRecorder> latencies = new HashMap<>();
+    private SQLiteDatabase database; // Opened on first use, guarded by this
+    private SQLiteStatement eventInsert; // Compiled on the first saved guess, reused for every later one
+    private int activeReaders; // Reads using the connection, guarded by this
+    private boolean closeRequested; // Close the connection once no reader uses it, guarded by this
+
+    // Single writer thread, lives until shutdown so queued writes outlast activities
+    private final ExecutorService writeExecutor = Executors.newSingleThreadExecutor();
+    private final List<PendingWrite<?>> pendingWrites = new ArrayList<>(); // Guarded by itself
+    private boolean batchScheduled;
+    private boolean shutDown; // Guarded by pendingWrites
+    private final AtomicInteger unfinishedWrites = new AtomicInteger();
 
     /**
      * Constructor
      */
-    public WordleRepository(Context context) {
+    private WordleRepository(Context context) {
         dbHelper = new WordleDbHelper(context);
+        for (String operation : new String[] {OP_SAVE, OP_QUERY, OP_DELETE, OP_CLEAR, OP_STATS, OP_REBUILD_STATS}) {
+            latencies.put(operation, new LatencyRecorder(LATENCY_SAMPLES));
+        }
     }
 
     /**
-     * Saves a game result to the database
-     * @param result The game result to save
-     * @return The row ID of the newly inserted result, or -1 if an error occurred
+     * Gets the repository shared by the whole process
      */
-    public long saveGameResult(GameResult result) {
-        // Get writable database
-        SQLiteDatabase db = dbHelper.getWritableDatabase();
+    public static synchronized WordleRepository getInstance(Context context) {
+        if (instance == null) {
+            instance = new WordleRepository(context.getApplicationContext());
+        }
+        return instance;
+    }
 
-        // Create content values
-        ContentValues values = new ContentValues();
-        values.put(WordleContract.GameResultEntry.COLUMN_WORD, result.getWord());
-        values.put(WordleContract.GameResultEntry.COLUMN_GAME_MODE, result.getGameMode().toString());
-        values.put(WordleContract.GameResultEntry.COLUMN_TIME_TAKEN, result.getTimeTaken());
-        values.put(WordleContract.GameResultEntry.COLUMN_GUESSES_USED, result.getGuessesUsed());
-        values.put(WordleContract.GameResultEntry.COLUMN_RESULT, result.isWin() ? "WIN" : "LOSS");
-        values.put(WordleContract.GameResultEntry.COLUMN_DATE_PLAYED, result.getDatePlayed());
+    /**
+     * Closes the shared connection once queued writes and running reads finish, e.g. when the app exits
+     * Does not block. Writes queued on this instance afterwards fail, and the
+     * next {@link #getInstance(Context)} starts a new repository.
+     */
+    public static synchronized void shutdown() {
+        if (instance != null) {
+            instance.shutdownWriter();
+            instance = null;
+        }
+    }
 
-        // Insert row
-        long newRowId = db.insert(WordleContract.GameResultEntry.TABLE_NAME, null, values);
+    private void shutdownWriter() {
+        synchronized (pendingWrites) {
+            shutDown = true;
+        }
+        // Runs on the writer thread after every batch queued before it
+        writeExecutor.execute(this::requestClose);
+        writeExecutor.shutdown();
+    }
 
-        // Close database
-        db.close();
+    private synchronized SQLiteDatabase getDatabase() {
+        if (database == null || !database.isOpen()) {
+            database = dbHelper.getWritableDatabase(); // Serves reads too, WAL lets them run alongside writes
+        }
+        return database;
+    }
 
-        return newRowId;
+    private synchronized SQLiteStatement getEventInsert() {
+        if (eventInsert == null) {
+            eventInsert = getDatabase().compileStatement(WordleContract.GameEventEntry.SQL_INSERT);
+        }
+        return eventInsert;
     }
 
     /**
-     * Gets all game results from the database
-     * @return List of game results
+     * Gets the connection for a read, which must end with {@link #releaseReader()}
      */
-    public List<GameResult> getAllGameResults() {
-        List<GameResult> results = new ArrayList<>();
+    private synchronized SQLiteDatabase acquireReader() {
+        SQLiteDatabase db = getDatabase();
+        activeReaders++;
+        return db;
+    }
 
-        // Query to select all records from the game results table, ordered by date
-        String selectQuery = "SELECT * FROM " + WordleContract.GameResultEntry.TABLE_NAME +
-                " ORDER BY " + WordleContract.GameResultEntry.COLUMN_DATE_PLAYED + " DESC";
+    private synchronized void releaseReader() {
+        activeReaders--;
+        if (closeRequested && activeReaders == 0) {
+            closeConnection(); // Last read after shutdown
+        }
+    }
 
-        // Get readable database
-        SQLiteDatabase db = dbHelper.getReadableDatabase();
-        Cursor cursor = db.rawQuery(selectQuery, null);
+    private synchronized void requestClose() {
+        closeRequested = true;
+        if (activeReaders == 0) {
+            closeConnection();
+        }
+    }
 
-        // Loop through all rows and add to list
-        if (cursor.moveToFirst()) {
-            do {
-                GameResult result = new GameResult();
+    private synchronized void closeConnection() {
+        if (eventInsert != null) {
+            eventInsert.close();
+            eventInsert = null;
+        }
+        dbHelper.close();
+        database = null;
+    }
 
-                result.setId(cursor.getLong(cursor.getColumnIndexOrThrow(WordleContract.GameResultEntry._ID)));
-                result.setWord(cursor.getString(cursor.getColumnIndexOrThrow(WordleContract.GameResultEntry.COLUMN_WORD)));
+    /**
+     * Blocks until every write queued so far is committed
+     */
+    public void flush() {
+        try {
+            writeExecutor.submit(new Runnable() {
+                @Override
+                public void run() {
+                    // Runs after every batch scheduled before it
+                }
+            }).get();
+        } catch (RejectedExecutionException e) {
+            // Shut down, the writer stops once the writes queued before that are committed
+            try {
+                writeExecutor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            Log.e(TAG, "Error flushing writes", e);
+        }
+    }
 
-                // Parse game mode
-                String gameModeStr = cursor.getString(cursor.getColumnIndexOrThrow(WordleContract.GameResultEntry.COLUMN_GAME_MODE));
-                result.setGameMode(GameMode.valueOf(gameModeStr));
+    /**
+     * Makes reads see earlier writes, only waiting if some are still queued
+     */
+    private void awaitPendingWrites() {
+        if (unfinishedWrites.get() > 0) {
+            flush();
+        }
+    }
 
-                result.setTimeTaken(cursor.getInt(cursor.getColumnIndexOrThrow(WordleContract.GameResultEntry.COLUMN_TIME_TAKEN)));
-                result.setGuessesUsed(cursor.getInt(cursor.getColumnIndexOrThrow(WordleContract.GameResultEntry.COLUMN_GUESSES_USED)));
+    private <T> Future<T> enqueueWrite(Callable<T> write) {
+        PendingWrite<T> pending = new PendingWrite<>(write);
+        synchronized (pendingWrites) {
+            if (shutDown) {
+                pending.reject(new IllegalStateException("Repository is shut down"));
+                return pending;
+            }
+            unfinishedWrites.incrementAndGet();
+            pendingWrites.add(pending);
+            if (!batchScheduled) {
+                batchScheduled = true;
+                writeExecutor.execute(this::commitPendingWrites);
+            }
+        }
+        return pending;
+    }
 
-                // Parse result
-                String resultStr = cursor.getString(cursor.getColumnIndexOrThrow(WordleContract.GameResultEntry.COLUMN_RESULT));
-                result.setWin(resultStr.equals("WIN"));
+    /**
+     * Runs every queued write in one transaction, then completes their futures
+     * If a write fails the whole transaction is rolled back, so no write is ever
+     * committed halfway, and each write is retried in a transaction of its own.
+     */
+    private void commitPendingWrites() {
+        List<PendingWrite<?>> batch;
+        synchronized (pendingWrites) {
+            batch = new ArrayList<>(pendingWrites);
+            pendingWrites.clear();
+            batchScheduled = false;
+        }
 
-                result.setDatePlayed(cursor.getString(cursor.getColumnIndexOrThrow(WordleContract.GameResultEntry.COLUMN_DATE_PLAYED)));
+        try {
+            if (runInTransaction(batch)) {
+                for (PendingWrite<?> write : batch) {
+                    write.complete(true);
+                }
+            } else if (batch.size() == 1) {
+                batch.get(0).complete(false);
+            } else {
+                Log.w(TAG, "Retrying " + batch.size() + " writes one by one");
+                for (PendingWrite<?> write : batch) {
+                    write.complete(runInTransaction(Collections.<PendingWrite<?>>singletonList(write)));
+                }
+            }
+        } finally {
+            unfinishedWrites.addAndGet(-batch.size());
+        }
+    }
 
-                results.add(result);
-            } while (cursor.moveToNext());
+    /**
+     * Runs writes in one transaction, committed only if none of them fails
+     * @return Whether the transaction was committed
+     */
+    private boolean runInTransaction(List<PendingWrite<?>> writes) {
+        try {
+            SQLiteDatabase db = getDatabase();
+            db.beginTransactionNonExclusive();
+            try {
+                for (PendingWrite<?> write : writes) {
+                    write.execute();
+                }
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
+            }
+            return true;
+        } catch (Exception e) {
+            Log.e(TAG, "Error committing " + writes.size() + " writes", e);
+            return false;
         }
+    }
 
-        // Close cursor and database
-        cursor.close();
-        db.close();
+    /**
+     * Gets the latency of one kind of operation
+     * @param operation One of the OP_ constants
+     */
+    public LatencyRecorder getLatency(String operation) {
+        return latencies.get(operation);
+    }
 
-        return results;
+    private void recordLatency(String operation, long startTime) {
+        LatencyRecorder latency = latencies.get(operation);
+        latency.record(SystemClock.elapsedRealtime() - startTime);
+        if (latency.getTotalCount() % LATENCY_LOG_INTERVAL == 0) {
+            Log.d(TAG, "Database " + operation + " latency " + latency.summary());
+        }
     }
 
     /**
-     * Gets game results filtered by game mode
-     * @param gameMode The game mode to filter by
-     * @return List of filtered game results
+     * Saves a game result and the guesses that led to it in the background
+     * The guesses are written in the same transaction as the result
+     * @param result The game result to save
+     * @param eventLog The guesses of the game, or null if they were not recorded
+     * @return Future row ID of the newly inserted result, or -1 if an error occurred
      */
-    public List<GameResult> getGameResultsByMode(GameMode gameMode) {
-        List<GameResult> results = new ArrayList<>();
+    public Future<Long> saveGameResultAsync(final GameResult result, final GameEventLog eventLog) {
+        return enqueueWrite(new Callable<Long>() {
+            @Override
+            public Long call() {
+                return saveGameResult(result, eventLog);
+            }
+        });
+    }
 
-        // Query to select records with specific game mode
-        String selectQuery = "SELECT * FROM " + WordleContract.GameResultEntry.TABLE_NAME +
-                " WHERE " + WordleContract.GameResultEntry.COLUMN_GAME_MODE + " = ?" +
-                " ORDER BY " + WordleContract.GameResultEntry.COLUMN_DATE_PLAYED + " DESC";
+    /**
+     * Deletes a game result from the database in the background
+     * @param resultId The ID of the result to delete
+     * @return Future number of rows affected
+     */
+    public Future<Integer> deleteGameResultAsync(final long resultId) {
+        return enqueueWrite(new Callable<Integer>() {
+            @Override
+            public Integer call() {
+                return deleteGameResult(resultId);
+            }
+        });
+    }
 
-        // Get readable database
-        SQLiteDatabase db = dbHelper.getReadableDatabase();
-        Cursor cursor = db.rawQuery(selectQuery, new String[]{gameMode.toString()});
+    /**
+     * Clears all game results from the database in the background
+     * @return Future number of rows affected
+     */
+    public Future<Integer> clearAllGameResultsAsync() {
+        return enqueueWrite(new Callable<Integer>() {
+            @Override
+            public Integer call() {
+                return clearAllGameResults();
+            }
+        });
+    }
 
-        // Loop through all rows and add to list
-        if (cursor.moveToFirst()) {
-            do {
-                GameResult result = new GameResult();
+    /**
+     * Recomputes the statistics of every game mode from the game results, in the background
+     * Only needed to repair the statistics, every write keeps them up to date
+     */
+    public Future<Void> rebuildStatsAsync() {
+        return enqueueWrite(new Callable<Void>() {
+            @Override
+            public Void call() {
+                long startTime = SystemClock.elapsedRealtime();
+                GameStatsTable.rebuildAll(getDatabase());
+                recordLatency(OP_REBUILD_STATS, startTime);
+                return null;
+            }
+        });
+    }
 
-                result.setId(cursor.getLong(cursor.getColumnIndexOrThrow(WordleContract.GameResultEntry._ID)));
-                result.setWord(cursor.getString(cursor.getColumnIndexOrThrow(WordleContract.GameResultEntry.COLUMN_WORD)));
-                result.setGameMode(gameMode);
-                result.setTimeTaken(cursor.getInt(cursor.getColumnIndexOrThrow(WordleContract.GameResultEntry.COLUMN_TIME_TAKEN)));
-                result.setGuessesUsed(cursor.getInt(cursor.getColumnIndexOrThrow(WordleContract.GameResultEntry.COLUMN_GUESSES_USED)));
+    /**
+     * Gets the statistics of one game mode
+     * A single row lookup, however long the history is
+     * @param gameMode The game mode
+     * @return The statistics, all zero if the mode was never played
+     */
+    public GameStats getGameStats(GameMode gameMode) {
+        awaitPendingWrites();
+        long startTime = SystemClock.elapsedRealtime();
+        SQLiteDatabase db = acquireReader();
+        try {
+            GameStats stats = GameStatsTable.read(db, gameMode);
+            recordLatency(OP_STATS, startTime);
+            return stats;
+        } finally {
+            releaseReader();
+        }
+    }
 
-                // Parse result
-                String resultStr = cursor.getString(cursor.getColumnIndexOrThrow(WordleContract.GameResultEntry.COLUMN_RESULT));
-                result.setWin(resultStr.equals("WIN"));
+    /**
+     * Gets the statistics of every game mode, in game mode order
+     */
+    public List<GameStats> getAllGameStats() {
+        List<GameStats> stats = new ArrayList<>();
+        for (GameMode gameMode : GameMode.values()) {
+            stats.add(getGameStats(gameMode));
+        }
+        return stats;
+    }
+
+    /**
+     * Saves a game result to the database, on the writer thread
+     * @param result The game result to save
+     * @param eventLog The guesses of the game, or null
+     * @return The row ID of the newly inserted result, or -1 if an error occurred
+     */
+    private long saveGameResult(GameResult result, GameEventLog eventLog) {
+        long startTime = SystemClock.elapsedRealtime();
+        SQLiteDatabase db = getDatabase();
 
-                result.setDatePlayed(cursor.getString(cursor.getColumnIndexOrThrow(WordleContract.GameResultEntry.COLUMN_DATE_PLAYED)));
+        // Create content values
+        ContentValues values = new ContentValues();
+        values.put(WordleContract.GameResultEntry.COLUMN_WORD, result.getWord());
+        values.put(WordleContract.GameResultEntry.COLUMN_GAME_MODE, result.getGameMode().getCode());
+        values.put(WordleContract.GameResultEntry.COLUMN_TIME_TAKEN, result.getTimeTaken());
+        values.put(WordleContract.GameResultEntry.COLUMN_GUESSES_USED, result.getGuessesUsed());
+        values.put(WordleContract.GameResultEntry.COLUMN_RESULT,
+                result.isWin() ? WordleContract.GameResultEntry.RESULT_WIN : WordleContract.GameResultEntry.RESULT_LOSS);
+        values.put(WordleContract.GameResultEntry.COLUMN_DATE_PLAYED, result.getDatePlayed());
 
-                results.add(result);
-            } while (cursor.moveToNext());
+        // Insert row and count it in the statistics, in the writer's transaction
+        long newRowId = db.insert(WordleContract.GameResultEntry.TABLE_NAME, null, values);
+        if (newRowId != -1) {
+            GameStatsTable.recordGame(db, result);
+            if (eventLog != null) {
+                saveGameEvents(newRowId, eventLog);
+            }
         }
 
-        // Close cursor and database
-        cursor.close();
-        db.close();
+        recordLatency(OP_SAVE, startTime);
+        return newRowId;
+    }
 
+    /**
+     * Inserts the guesses of a game through the compiled insert statement
+     * Runs in the writer's transaction, so all of them share a single commit
+     */
+    private void saveGameEvents(long gameId, GameEventLog eventLog) {
+        SQLiteStatement insert = getEventInsert();
+        for (int i = 0; i < eventLog.size(); i++) {
+            insert.bindLong(1, gameId);
+            insert.bindLong(2, i);
+            insert.bindLong(3, eventLog.getPackedGuess(i));
+            insert.bindLong(4, eventLog.getPattern(i));
+            insert.bindLong(5, eventLog.getTimestamp(i));
+            insert.bindLong(6, eventLog.getTypingTime(i));
+            insert.bindBlob(7, encodeKeystrokeTimes(eventLog.getKeystrokeTimes(i)));
+            insert.executeInsert();
+        }
+        insert.clearBindings();
+    }
+
+    /**
+     * Packs the key deltas of a guess for the keystroke_times column, 4 big-endian bytes each
+     */
+    private static byte[] encodeKeystrokeTimes(int[] deltas) {
+        ByteBuffer buffer = ByteBuffer.allocate(deltas.length * 4);
+        buffer.asIntBuffer().put(deltas);
+        return buffer.array();
+    }
+
+    /**
+     * Gets one page of game results, newest first
+     * Pages are keyed on the date and ID of the last result of the previous page,
+     * so every page costs the same however far back in the history it is
+     * @param gameMode The game mode to filter by, or null for all game modes
+     * @param after The last result of the previous page, or null for the first page
+     * @param limit Maximum number of results in the page
+     * @return List of game results, shorter than the limit on the last page
+     */
+    public List<GameResult> getGameResultsPage(GameMode gameMode, GameResult after, int limit) {
+        awaitPendingWrites();
+        long startTime = SystemClock.elapsedRealtime();
+
+        StringBuilder selection = new StringBuilder();
+        List<String> selectionArgs = new ArrayList<>();
+        if (gameMode != null) {
+            selection.append(WordleContract.GameResultEntry.COLUMN_GAME_MODE).append(" = ?");
+            selectionArgs.add(String.valueOf(gameMode.getCode()));
+        } else {
+            // Rows kept from an unknown legacy game mode are not shown; != still lets the date index drive the page
+            selection.append(WordleContract.GameResultEntry.COLUMN_GAME_MODE).append(" != ?");
+            selectionArgs.add(String.valueOf(WordleContract.GameResultEntry.GAME_MODE_UNKNOWN));
+        }
+        if (after != null) {
+            if (selection.length() > 0) {
+                selection.append(" AND ");
+            }
+            // Same rows as "date < d OR (date = d AND id < i)", but written as a range the index can seek to
+            selection.append(WordleContract.GameResultEntry.COLUMN_DATE_PLAYED).append(" <= ?")
+                    .append(" AND (").append(WordleContract.GameResultEntry.COLUMN_DATE_PLAYED).append(" < ?")
+                    .append(" OR ").append(WordleContract.GameResultEntry._ID).append(" < ?)");
+            selectionArgs.add(String.valueOf(after.getDatePlayed()));
+            selectionArgs.add(String.valueOf(after.getDatePlayed()));
+            selectionArgs.add(String.valueOf(after.getId()));
+        }
+
+        // Query one page, ordered to match the keys above
+        List<GameResult> results;
+        SQLiteDatabase db = acquireReader();
+        try {
+            Cursor cursor = db.query(
+                    WordleContract.GameResultEntry.TABLE_NAME,
+                    null,
+                    selection.length() > 0 ? selection.toString() : null,
+                    selectionArgs.toArray(new String[0]),
+                    null,
+                    null,
+                    WordleContract.GameResultEntry.COLUMN_DATE_PLAYED + " DESC, " + WordleContract.GameResultEntry._ID + " DESC",
+                    String.valueOf(limit));
+
+            results = readGameResults(cursor);
+
+            // Close cursor, the database stays open
+            cursor.close();
+        } finally {
+            releaseReader();
+        }
+
+        recordLatency(OP_QUERY, startTime);
         return results;
     }
 
     /**
-     * Deletes a game result from the database
+     * Reads every row of a game results cursor
+     * Column indexes are looked up once per cursor, not once per row
+     */
+    private static List<GameResult> readGameResults(Cursor cursor) {
+        List<GameResult> results = new ArrayList<>();
+
+        int idColumn = cursor.getColumnIndexOrThrow(WordleContract.GameResultEntry._ID);
+        int wordColumn = cursor.getColumnIndexOrThrow(WordleContract.GameResultEntry.COLUMN_WORD);
+        int gameModeColumn = cursor.getColumnIndexOrThrow(WordleContract.GameResultEntry.COLUMN_GAME_MODE);
+        int timeTakenColumn = cursor.getColumnIndexOrThrow(WordleContract.GameResultEntry.COLUMN_TIME_TAKEN);
+        int guessesUsedColumn = cursor.getColumnIndexOrThrow(WordleContract.GameResultEntry.COLUMN_GUESSES_USED);
+        int resultColumn = cursor.getColumnIndexOrThrow(WordleContract.GameResultEntry.COLUMN_RESULT);
+        int datePlayedColumn = cursor.getColumnIndexOrThrow(WordleContract.GameResultEntry.COLUMN_DATE_PLAYED);
+
+        while (cursor.moveToNext()) {
+            GameResult result = new GameResult();
+
+            result.setId(cursor.getLong(idColumn));
+            result.setWord(cursor.getString(wordColumn));
+            result.setGameMode(GameMode.fromCode(cursor.getInt(gameModeColumn)));
+            result.setTimeTaken(cursor.getInt(timeTakenColumn));
+            result.setGuessesUsed(cursor.getInt(guessesUsedColumn));
+            result.setWin(cursor.getInt(resultColumn) == WordleContract.GameResultEntry.RESULT_WIN);
+            result.setDatePlayed(cursor.getLong(datePlayedColumn));
+
+            results.add(result);
+        }
+        return results;
+    }
+
+    /**
+     * Deletes a game result from the database, on the writer thread
      * @param resultId The ID of the result to delete
      * @return The number of rows affected
      */
-    public int deleteGameResult(long resultId) {
-        // Get writable database
-        SQLiteDatabase db = dbHelper.getWritableDatabase();
+    private int deleteGameResult(long resultId) {
+        long startTime = SystemClock.elapsedRealtime();
+        SQLiteDatabase db = getDatabase();
+
+        // Find the game mode whose statistics change
+        GameMode gameMode = null;
+        Cursor cursor = db.query(WordleContract.GameResultEntry.TABLE_NAME,
+                new String[]{WordleContract.GameResultEntry.COLUMN_GAME_MODE},
+                WordleContract.GameResultEntry._ID + " = ?", new String[]{String.valueOf(resultId)},
+                null, null, null);
+        if (cursor.moveToFirst() && cursor.getInt(0) != WordleContract.GameResultEntry.GAME_MODE_UNKNOWN) {
+            gameMode = GameMode.fromCode(cursor.getInt(0));
+        }
+        cursor.close();
 
         // Delete record
         int rowsDeleted = db.delete(
@@ -159,26 +543,80 @@ public class WordleRepository {
                 WordleContract.GameResultEntry._ID + " = ?",
                 new String[]{String.valueOf(resultId)});
 
-        // Close database
-        db.close();
+        // The game's guesses go with it
+        if (rowsDeleted > 0) {
+            db.delete(WordleContract.GameEventEntry.TABLE_NAME,
+                    WordleContract.GameEventEntry.COLUMN_GAME_ID + " = ?",
+                    new String[]{String.valueOf(resultId)});
+        }
+
+        // Streaks depend on the order of games, so the mode's statistics are recomputed
+        if (rowsDeleted > 0 && gameMode != null) {
+            GameStatsTable.rebuild(db, gameMode);
+        }
 
+        recordLatency(OP_DELETE, startTime);
         return rowsDeleted;
     }
 
     /**
-     * Clears all game results from the database
+     * Clears all game results from the database, on the writer thread
      * @return The number of rows affected
      */
-    public int clearAllGameResults() {
-        // Get writable database
-        SQLiteDatabase db = dbHelper.getWritableDatabase();
+    private int clearAllGameResults() {
+        long startTime = SystemClock.elapsedRealtime();
+        SQLiteDatabase db = getDatabase();
 
         // Delete all records
         int rowsDeleted = db.delete(WordleContract.GameResultEntry.TABLE_NAME, null, null);
+        db.delete(WordleContract.GameEventEntry.TABLE_NAME, null, null);
+        GameStatsTable.clear(db);
 
-        // Close database
-        db.close();
-
+        recordLatency(OP_CLEAR, startTime);
         return rowsDeleted;
     }
+
+    /**
+     * A queued write whose future completes only once its transaction is committed
+     */
+    private static final class PendingWrite<T> extends FutureTask<T> {
+        private final Callable<T> write;
+        private T result;
+        private Exception error;
+
+        PendingWrite(Callable<T> write) {
+            super(write);
+            this.write = write;
+        }
+
+        /**
+         * Runs the write, rethrowing its failure so the transaction is rolled back
+         */
+        void execute() throws Exception {
+            error = null;
+            if (isCancelled()) {
+                return;
+            }
+            try {
+                result = write.call();
+            } catch (Exception e) {
+                error = e;
+                throw e;
+            }
+        }
+
+        void complete(boolean committed) {
+            if (error != null) {
+                setException(error);
+            } else if (!committed) {
+                setException(new IllegalStateException("Transaction was not committed"));
+            } else {
+                set(result);
+            }
+        }
+
+        void reject(Exception e) {
+            setException(e);
+        }
+    }
 }
\ No newline at end of file
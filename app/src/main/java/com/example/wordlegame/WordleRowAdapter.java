@@ -15,28 +15,29 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.example.wordlegame.R;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Adapter for the Wordle game board rows
  */
 public class WordleRowAdapter extends RecyclerView.Adapter<WordleRowAdapter.WordleRowViewHolder> {
 
+    private static final int NO_RESULT = -1;
+
     private final List<String> guesses;
     private final int wordLength;
-    private final Map<Integer, List<Integer>> rowResults; // Maps row index to result list
+    private final int[] rowResults; // Feedback pattern per row, or NO_RESULT
+    private final boolean[] invalidRows; // Rows whose typed letters cannot start a known word
 
-    public WordleRowAdapter(List<String> guesses, int wordLength, List<Integer> initialRowResults) {
+    public WordleRowAdapter(List<String> guesses, int wordLength) {
         this.guesses = guesses;
         this.wordLength = wordLength;
-        this.rowResults = new HashMap<>();
+        this.rowResults = new int[guesses.size()];
+        this.invalidRows = new boolean[guesses.size()];
 
         // Initialize with empty results
-        for (int i = 0; i < guesses.size(); i++) {
-            this.rowResults.put(i, new ArrayList<>());
-        }
+        Arrays.fill(rowResults, NO_RESULT);
     }
 
     @NonNull
@@ -49,9 +50,7 @@ public class WordleRowAdapter extends RecyclerView.Adapter<WordleRowAdapter.Word
 
     @Override
     public void onBindViewHolder(@NonNull WordleRowViewHolder holder, int position) {
-        String guess = guesses.get(position);
-        List<Integer> results = rowResults.get(position);
-        holder.bind(guess, results, position);
+        holder.bind(guesses.get(position), rowResults[position], invalidRows[position]);
     }
 
     @Override
@@ -62,11 +61,23 @@ public class WordleRowAdapter extends RecyclerView.Adapter<WordleRowAdapter.Word
     /**
      * Set result for a specific row
      * @param rowIndex Index of the row
-     * @param results List of result codes (0: wrong, 1: partial, 2: correct)
+     * @param pattern Feedback pattern from {@link WordleScorer}
      */
-    public void setRowResult(int rowIndex, List<Integer> results) {
+    public void setRowResult(int rowIndex, int pattern) {
         if (rowIndex >= 0 && rowIndex < guesses.size()) {
-            rowResults.put(rowIndex, results);
+            rowResults[rowIndex] = pattern;
+            invalidRows[rowIndex] = false;
+        }
+    }
+
+    /**
+     * Flags a row whose typed letters cannot start any known word
+     * @param rowIndex Index of the row
+     * @param invalid true to highlight the typed letters as impossible
+     */
+    public void setRowInvalid(int rowIndex, boolean invalid) {
+        if (rowIndex >= 0 && rowIndex < invalidRows.length) {
+            invalidRows[rowIndex] = invalid;
         }
     }
 
@@ -89,12 +100,17 @@ public class WordleRowAdapter extends RecyclerView.Adapter<WordleRowAdapter.Word
             }
         }
 
-        void bind(String guess, List<Integer> results, int rowIndex) {
+        void bind(String guess, int pattern, boolean invalid) {
+            // Highlight letters that cannot start a known word
+            int textColor = ContextCompat.getColor(itemView.getContext(),
+                    invalid ? R.color.tile_invalid_text : android.R.color.black);
+
             // Fill tiles with characters from guess
             for (int i = 0; i < tiles.size(); i++) {
                 String character = (i < guess.length()) ?
                         String.valueOf(guess.charAt(i)).toUpperCase() : "";
                 tiles.get(i).setText(character);
+                tiles.get(i).setTextColor(textColor);
 
                 // Set default appearance for all tiles
                 if (!character.isEmpty() && !character.equals(" ")) {
@@ -105,16 +121,15 @@ public class WordleRowAdapter extends RecyclerView.Adapter<WordleRowAdapter.Word
             }
 
             // If results exist for this row, apply colors and animate
-            if (results != null && !results.isEmpty()) {
-                for (int i = 0; i < results.size() && i < tiles.size(); i++) {
-                    int result = results.get(i);
+            if (pattern != NO_RESULT) {
+                for (int i = 0; i < PackedWord.WORD_LENGTH && i < tiles.size(); i++) {
                     int colorResId;
 
-                    switch (result) {
-                        case 2: // Correct position
+                    switch (WordleScorer.codeAt(pattern, i)) {
+                        case WordleScorer.CORRECT: // Correct position
                             colorResId = R.color.tile_correct;
                             break;
-                        case 1: // Wrong position
+                        case WordleScorer.PRESENT: // Wrong position
                             colorResId = R.color.tile_partial;
                             break;
                         default: // Not in word
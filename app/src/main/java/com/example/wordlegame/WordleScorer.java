@@ -0,0 +1,79 @@
+package com.example.wordlegame;
+
+/**
+ * Scores a guess against an answer, both packed with {@link PackedWord}
+ * The feedback is one base-3 digit per position, position 0 being the
+ * least significant, so every feedback fits in 0..242 and can index arrays
+ */
+public final class WordleScorer {
+
+    public static final int ABSENT = 0;  // Letter not in word
+    public static final int PRESENT = 1; // Correct letter, wrong position
+    public static final int CORRECT = 2; // Correct letter, correct position
+
+    public static final int PATTERN_COUNT = 243; // 3^5
+    public static final int ALL_CORRECT = PATTERN_COUNT - 1;
+
+    private static final int[] POWERS_OF_THREE = {1, 3, 9, 27, 81};
+
+    private WordleScorer() {
+    }
+
+    /**
+     * Scores a packed guess against a packed answer without allocating
+     * A repeated guess letter is only marked present as many times as the
+     * answer has unmatched copies of it, leftmost first
+     * @return The feedback pattern in 0..242
+     */
+    public static int score(int guess, int answer) {
+        int pattern = 0;
+        int unmatched = 0; // Positions without a correct letter, in both words
+
+        // First pass: correct positions
+        for (int pos = 0; pos < PackedWord.WORD_LENGTH; pos++) {
+            if (PackedWord.letterAt(guess, pos) == PackedWord.letterAt(answer, pos)) {
+                pattern += CORRECT * POWERS_OF_THREE[pos];
+            } else {
+                unmatched |= 1 << pos;
+            }
+        }
+
+        // Second pass: each remaining guess letter claims one unclaimed copy in the answer
+        int available = unmatched;
+        for (int pos = 0; pos < PackedWord.WORD_LENGTH; pos++) {
+            if ((unmatched & (1 << pos)) == 0) {
+                continue;
+            }
+
+            int letter = PackedWord.letterAt(guess, pos);
+            for (int other = 0; other < PackedWord.WORD_LENGTH; other++) {
+                if ((available & (1 << other)) != 0 && PackedWord.letterAt(answer, other) == letter) {
+                    pattern += PRESENT * POWERS_OF_THREE[pos];
+                    available &= ~(1 << other);
+                    break;
+                }
+            }
+        }
+
+        return pattern;
+    }
+
+    /**
+     * Gets the feedback code at one position of a pattern
+     * @return {@link #ABSENT}, {@link #PRESENT} or {@link #CORRECT}
+     */
+    public static int codeAt(int pattern, int pos) {
+        return pattern / POWERS_OF_THREE[pos] % 3;
+    }
+
+    /**
+     * Counts the hints a pattern gives away, 2 per correct and 1 per present letter
+     */
+    public static int hintWeight(int pattern) {
+        int weight = 0;
+        for (int pos = 0; pos < PackedWord.WORD_LENGTH; pos++) {
+            weight += codeAt(pattern, pos);
+        }
+        return weight;
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.wordlegame;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks the tiers of {@link CandidateQuery} against a plain scan of both lists
+ */
+public class CandidateQueryTest {
+
+    // Few letters, so random feedback still leaves matches; more than 64 words per list, so queries span several bitset blocks
+    private static final String LETTERS = "abcdeilnorst";
+    private static final int WORDS_PER_LIST = 150;
+
+    private final Random random = new Random(42);
+
+    @Test
+    public void randomConstraints_matchBruteForceScan() {
+        WordCorpus corpus = WordCorpus.of(randomWordList(), randomWordList());
+        CandidateQuery query = new CandidateQuery(corpus);
+        int[] out = new int[corpus.size()];
+        int[] tiersSeen = new int[CandidateQuery.TIER_ANY + 1];
+
+        for (int round = 0; round < 2000; round++) {
+            boolean isHard = random.nextBoolean();
+            int secret = PackedWord.pack(randomWord()); // Often not in either list, to reach the relaxed tiers
+            WordConstraints constraints = new WordConstraints();
+            int guesses = 1 + random.nextInt(3);
+            for (int i = 0; i < guesses; i++) {
+                int guess = random.nextBoolean()
+                        ? corpus.getPackedWord(random.nextInt(corpus.size())) : PackedWord.pack(randomWord());
+                constraints.apply(guess, WordleScorer.score(guess, secret));
+            }
+
+            int count = query.run(constraints, isHard, out);
+            int[] expected = new int[corpus.size()];
+            int expectedTier = bruteForce(corpus, constraints, isHard, expected);
+            int expectedCount = countOf(expected);
+
+            assertEquals("tier, round " + round, expectedTier, query.getTier());
+            assertArrayEquals("ids, round " + round,
+                    Arrays.copyOf(expected, expectedCount), Arrays.copyOf(out, count));
+            tiersSeen[expectedTier]++;
+        }
+
+        // Every tier was actually exercised
+        for (int tier = 0; tier < tiersSeen.length; tier++) {
+            assertTrue("tier " + tier + " never reached", tiersSeen[tier] > 0);
+        }
+    }
+
+    @Test
+    public void noFeedback_returnsWholeSelectedList() {
+        WordCorpus corpus = WordCorpus.of(randomWordList(), randomWordList());
+        int[] out = new int[corpus.size()];
+
+        CandidateQuery query = new CandidateQuery(corpus);
+        int count = query.run(new WordConstraints(), true, out);
+
+        assertEquals(CandidateQuery.TIER_STRICT, query.getTier());
+        assertEquals(corpus.getIndex(true).size(), count);
+        assertEquals(corpus.getFirstWordId(true), out[0]);
+    }
+
+    /**
+     * Finds the best non-empty tier the slow way, one tier at a time
+     * @param out Receives the ids, followed by -1
+     * @return The tier
+     */
+    private static int bruteForce(WordCorpus corpus, WordConstraints constraints, boolean isHard, int[] out) {
+        Arrays.fill(out, -1);
+        if (scan(corpus, isHard, out, id -> constraints.matches(corpus.getPackedWord(id))) > 0) {
+            return CandidateQuery.TIER_STRICT;
+        }
+        if (scan(corpus, !isHard, out, id -> constraints.matches(corpus.getPackedWord(id))) > 0) {
+            return CandidateQuery.TIER_OTHER_LIST;
+        }
+        if (scan(corpus, isHard, out, id -> constraints.matchesKnownPositions(corpus.getPackedWord(id))) > 0) {
+            return CandidateQuery.TIER_KNOWN_POSITIONS;
+        }
+        scan(corpus, isHard, out, id -> true);
+        return CandidateQuery.TIER_ANY;
+    }
+
+    private interface IdFilter {
+        boolean accept(int wordId);
+    }
+
+    private static int scan(WordCorpus corpus, boolean isHard, int[] out, IdFilter filter) {
+        int first = corpus.getFirstWordId(isHard);
+        int count = 0;
+        for (int id = first; id < first + corpus.getIndex(isHard).size(); id++) {
+            if (filter.accept(id)) {
+                out[count++] = id;
+            }
+        }
+        return count;
+    }
+
+    private static int countOf(int[] ids) {
+        int count = 0;
+        while (count < ids.length && ids[count] >= 0) {
+            count++;
+        }
+        return count;
+    }
+
+    private int[] randomWordList() {
+        TreeSet<Integer> words = new TreeSet<>();
+        while (words.size() < WORDS_PER_LIST) {
+            words.add(PackedWord.pack(randomWord()));
+        }
+        int[] packed = new int[words.size()];
+        int i = 0;
+        for (int word : words) {
+            packed[i++] = word;
+        }
+        return packed;
+    }
+
+    private String randomWord() {
+        char[] letters = new char[PackedWord.WORD_LENGTH];
+        for (int i = 0; i < letters.length; i++) {
+            letters[i] = LETTERS.charAt(random.nextInt(LETTERS.length()));
+        }
+        return new String(letters);
+    }
+}
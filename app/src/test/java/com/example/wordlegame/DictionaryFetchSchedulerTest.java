@@ -0,0 +1,149 @@
+package com.example.wordlegame;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+import static org.junit.Assert.*;
+
+/**
+ * Runs {@link DictionaryFetchScheduler} against a local mock server
+ */
+public class DictionaryFetchSchedulerTest {
+
+    private MockWebServer server;
+    private DictionaryApiService apiService;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        apiService = new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .addConverterFactory(GsonConverterFactory.create())
+                .build()
+                .create(DictionaryApiService.class);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void duplicateLookups_shareOneRequest() throws Exception {
+        server.enqueue(new MockResponse()
+                .setBody("[{\"word\":\"crane\"}]")
+                .setBodyDelay(200, TimeUnit.MILLISECONDS));
+
+        DictionaryFetchScheduler scheduler = new DictionaryFetchScheduler(apiService, 2, 0);
+        CountDownLatch done = new CountDownLatch(3);
+        AtomicInteger results = new AtomicInteger();
+        LatchCallback callback = new LatchCallback(done, results, null);
+
+        scheduler.fetch("crane", callback);
+        scheduler.fetch("CRANE", callback);
+        scheduler.fetch("crane", callback);
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(3, results.get());
+        assertEquals(1, server.getRequestCount());
+        assertEquals("/entries/en/crane", server.takeRequest().getPath());
+        assertEquals(1, scheduler.getSucceededCount());
+        assertEquals(0, scheduler.getInFlightCount());
+        scheduler.shutdown();
+    }
+
+    @Test
+    public void concurrency_isCapped() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            server.enqueue(new MockResponse()
+                    .setBody("[{\"word\":\"word\"}]")
+                    .setBodyDelay(300, TimeUnit.MILLISECONDS));
+        }
+
+        DictionaryFetchScheduler scheduler = new DictionaryFetchScheduler(apiService, 2, 0);
+        CountDownLatch done = new CountDownLatch(4);
+        LatchCallback callback = new LatchCallback(done, new AtomicInteger(), null);
+        scheduler.fetch("aaaaa", callback);
+        scheduler.fetch("bbbbb", callback);
+        scheduler.fetch("ccccc", callback);
+        scheduler.fetch("ddddd", callback);
+
+        assertEquals(2, scheduler.getInFlightCount());
+        assertEquals(2, scheduler.getQueuedCount());
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(4, scheduler.getSucceededCount());
+        assertEquals(0, scheduler.getQueuedCount());
+        scheduler.shutdown();
+    }
+
+    @Test
+    public void notFound_isAnsweredWithNull() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(404));
+
+        DictionaryFetchScheduler scheduler = new DictionaryFetchScheduler(apiService, 1, 0);
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicReference<String> result = new AtomicReference<>("unset");
+        scheduler.fetch("zzzzz", new LatchCallback(done, new AtomicInteger(), result));
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertNull(result.get());
+        assertEquals(1, scheduler.getSucceededCount());
+        assertEquals(0, scheduler.getFailedCount());
+        scheduler.shutdown();
+    }
+
+    @Test
+    public void serverError_countsAsFailed() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(500));
+
+        DictionaryFetchScheduler scheduler = new DictionaryFetchScheduler(apiService, 1, 0);
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicInteger results = new AtomicInteger();
+        scheduler.fetch("zzzzz", new LatchCallback(done, results, null));
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(0, results.get());
+        assertEquals(1, scheduler.getFailedCount());
+        assertFalse(scheduler.isPending("zzzzz"));
+        scheduler.shutdown();
+    }
+
+    private static class LatchCallback implements DictionaryFetchScheduler.FetchCallback {
+        private final CountDownLatch done;
+        private final AtomicInteger results;
+        private final AtomicReference<String> lastResult;
+
+        LatchCallback(CountDownLatch done, AtomicInteger results, AtomicReference<String> lastResult) {
+            this.done = done;
+            this.results = results;
+            this.lastResult = lastResult;
+        }
+
+        @Override
+        public void onResult(String word, String validWord) {
+            results.incrementAndGet();
+            if (lastResult != null) {
+                lastResult.set(validWord);
+            }
+            done.countDown();
+        }
+
+        @Override
+        public void onError(String word, Throwable error) {
+            done.countDown();
+        }
+    }
+}
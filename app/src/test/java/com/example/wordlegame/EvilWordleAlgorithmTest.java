@@ -0,0 +1,165 @@
+package com.example.wordlegame;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks which feedback bucket {@link EvilWordleAlgorithm} keeps, over small fixed word lists
+ */
+public class EvilWordleAlgorithmTest {
+
+    // None of the letters of "crane"
+    private static final String[] NO_HINTS = {"bulky", "dusty", "fluff", "godly", "hippy"};
+    // Only the final 'e' of "crane", in the same place
+    private static final String[] FINAL_E = {"glide", "globe", "shove", "smite", "whose"};
+
+    private static WordCorpus corpus(String[] easyWords, String[] hardWords) {
+        return WordCorpus.of(packSorted(easyWords), packSorted(hardWords));
+    }
+
+    private static int[] packSorted(String[] words) {
+        int[] packed = new int[words.length];
+        for (int i = 0; i < words.length; i++) {
+            packed[i] = PackedWord.pack(words[i]);
+        }
+        Arrays.sort(packed);
+        return packed;
+    }
+
+    private static String[] concat(String[] first, String... second) {
+        String[] words = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, words, first.length, second.length);
+        return words;
+    }
+
+    /**
+     * Gets the ids of words in the easy list, in id order like the candidates
+     */
+    private static int[] idsOf(WordCorpus corpus, String... words) {
+        int[] ids = new int[words.length];
+        for (int i = 0; i < words.length; i++) {
+            ids[i] = corpus.getWordId(PackedWord.pack(words[i]));
+            assertTrue(words[i], ids[i] >= 0);
+        }
+        Arrays.sort(ids);
+        return ids;
+    }
+
+    @Test
+    public void largestBucket_wins() {
+        // Six words give only the final 'e', five give nothing
+        WordCorpus corpus = corpus(concat(concat(FINAL_E, "title"), NO_HINTS), new String[]{"zesty"});
+        EvilWordleAlgorithm evil = new EvilWordleAlgorithm(corpus, false, new Random(1));
+
+        EvilWordleAlgorithm.ProcessResult result = evil.processGuess("crane", "glide");
+
+        assertEquals("00002", codes(result.getPattern()));
+        assertArrayEquals(idsOf(corpus, concat(FINAL_E, "title")), evil.getCandidates());
+        assertTrue(Arrays.asList(concat(FINAL_E, "title")).contains(result.getNewWord()));
+    }
+
+    @Test
+    public void tiedBuckets_goToFewerHints() {
+        // Five words each way: the bucket without any hint is kept
+        WordCorpus corpus = corpus(concat(FINAL_E, NO_HINTS), new String[]{"zesty"});
+        EvilWordleAlgorithm evil = new EvilWordleAlgorithm(corpus, false, new Random(1));
+
+        EvilWordleAlgorithm.ProcessResult result = evil.processGuess("crane", "glide");
+
+        assertEquals("00000", codes(result.getPattern()));
+        assertArrayEquals(idsOf(corpus, NO_HINTS), evil.getCandidates());
+        assertEquals(NO_HINTS.length, evil.getCandidateCount());
+    }
+
+    @Test
+    public void guess_onlyWinsAsLastCandidate() {
+        WordCorpus corpus = corpus(concat(FINAL_E, NO_HINTS), new String[]{"zesty"});
+        EvilWordleAlgorithm evil = new EvilWordleAlgorithm(corpus, false, new Random(1));
+        evil.processGuess("crane", "glide");
+
+        // "dusty" is a candidate, but with four others left every bucket holds one word,
+        // and the tie goes to "fluff", whose feedback gives away the least
+        EvilWordleAlgorithm.ProcessResult result = evil.processGuess("dusty", "bulky");
+        assertNotEquals(WordleScorer.ALL_CORRECT, result.getPattern());
+        assertEquals("01000", codes(result.getPattern()));
+        assertArrayEquals(idsOf(corpus, "fluff"), evil.getCandidates());
+        assertEquals("fluff", result.getNewWord());
+
+        // Now the guess is the only word left, so it solves the game
+        result = evil.processGuess("fluff", "fluff");
+        assertEquals(WordleScorer.ALL_CORRECT, result.getPattern());
+        assertArrayEquals(idsOf(corpus, "fluff"), evil.getCandidates());
+    }
+
+    @Test
+    public void randomGuesses_keepExactlyTheChosenBucket() {
+        Random random = new Random(3);
+        String letters = "abeilnorst";
+        List<String> easy = new ArrayList<>();
+        while (easy.size() < 120) {
+            String word = randomWord(random, letters);
+            if (!easy.contains(word)) {
+                easy.add(word);
+            }
+        }
+        WordCorpus corpus = corpus(easy.toArray(new String[0]), new String[]{"zesty"});
+
+        for (int game = 0; game < 50; game++) {
+            EvilWordleAlgorithm evil = new EvilWordleAlgorithm(corpus, false, new Random(game));
+            for (int turn = 0; turn < 3 && evil.getCandidateCount() > 1; turn++) {
+                int[] before = evil.getCandidates();
+                int guess = PackedWord.pack(randomWord(random, letters));
+
+                int pattern = evil.processGuess(PackedWord.unpack(guess), "zesty").getPattern();
+
+                // Kept candidates are exactly those giving the chosen feedback, in their old order
+                List<Integer> expected = new ArrayList<>();
+                int[] bucketSizes = new int[WordleScorer.PATTERN_COUNT];
+                for (int id : before) {
+                    int score = WordleScorer.score(guess, corpus.getPackedWord(id));
+                    bucketSizes[score]++;
+                    if (score == pattern) {
+                        expected.add(id);
+                    }
+                }
+                int[] kept = evil.getCandidates();
+                assertEquals(expected.size(), kept.length);
+                for (int i = 0; i < kept.length; i++) {
+                    assertEquals((int) expected.get(i), kept[i]);
+                }
+
+                // No other bucket is larger, or as large with fewer hints
+                for (int other = 0; other < WordleScorer.PATTERN_COUNT; other++) {
+                    if (other == pattern || (other == WordleScorer.ALL_CORRECT && before.length > 1)) {
+                        continue;
+                    }
+                    assertTrue(bucketSizes[other] < kept.length
+                            || (bucketSizes[other] == kept.length
+                                && WordleScorer.hintWeight(other) >= WordleScorer.hintWeight(pattern)));
+                }
+            }
+        }
+    }
+
+    private static String codes(int pattern) {
+        StringBuilder codes = new StringBuilder();
+        for (int pos = 0; pos < PackedWord.WORD_LENGTH; pos++) {
+            codes.append(WordleScorer.codeAt(pattern, pos));
+        }
+        return codes.toString();
+    }
+
+    private static String randomWord(Random random, String letters) {
+        char[] word = new char[PackedWord.WORD_LENGTH];
+        for (int i = 0; i < word.length; i++) {
+            word[i] = letters.charAt(random.nextInt(letters.length()));
+        }
+        return new String(word);
+    }
+}
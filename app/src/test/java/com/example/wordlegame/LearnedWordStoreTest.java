@@ -0,0 +1,133 @@
+package com.example.wordlegame;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.file.Files;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Runs {@link LearnedWordStore} against log files in a temporary directory
+ */
+public class LearnedWordStoreTest {
+
+    private static final long WRITE_TIMEOUT_MS = 5000;
+
+    private File directory;
+    private File logFile;
+
+    @Before
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("learned-words").toFile();
+        logFile = new File(directory, "learned_words.bin");
+    }
+
+    @After
+    public void tearDown() {
+        deleteRecursively(directory);
+    }
+
+    private static int[] pack(String... words) {
+        int[] packed = new int[words.length];
+        for (int i = 0; i < words.length; i++) {
+            packed[i] = PackedWord.pack(words[i]);
+        }
+        return packed;
+    }
+
+    private static void awaitWrites(LearnedWordStore store) throws InterruptedException {
+        assertTrue(store.awaitWrites(WRITE_TIMEOUT_MS));
+    }
+
+    @Test
+    public void missingLog_loadsEmpty() {
+        LearnedWordStore store = new LearnedWordStore(logFile);
+        assertEquals(0, store.load().length);
+        assertFalse(store.needsCompaction(0));
+    }
+
+    @Test
+    public void appends_areReplayedAfterReopen() throws Exception {
+        LearnedWordStore store = new LearnedWordStore(logFile);
+        store.append(pack("crane", "slate", "other"), 2);
+        store.append(pack("tears"), 1);
+        awaitWrites(store);
+
+        LearnedWordStore reopened = new LearnedWordStore(logFile);
+        assertArrayEquals(pack("crane", "slate", "tears"), reopened.load());
+        assertFalse(reopened.needsCompaction(3));
+    }
+
+    @Test
+    public void tornTrailingRecord_isIgnoredAndCutBeforeNextAppend() throws Exception {
+        LearnedWordStore store = new LearnedWordStore(logFile);
+        store.append(pack("crane", "slate"), 2);
+        awaitWrites(store);
+
+        // An append interrupted after two bytes of its record
+        FileOutputStream output = new FileOutputStream(logFile, true);
+        output.write(new byte[]{0x12, 0x34});
+        output.close();
+
+        LearnedWordStore reopened = new LearnedWordStore(logFile);
+        assertArrayEquals(pack("crane", "slate"), reopened.load());
+        assertTrue(reopened.needsCompaction(2));
+
+        // Later records must stay aligned even without a compaction in between
+        reopened.append(pack("tears"), 1);
+        awaitWrites(reopened);
+        assertArrayEquals(pack("crane", "slate", "tears"), new LearnedWordStore(logFile).load());
+        assertEquals(3 * 4, logFile.length());
+    }
+
+    @Test
+    public void compaction_replacesLogAndKeepsLaterAppends() throws Exception {
+        LearnedWordStore store = new LearnedWordStore(logFile);
+        store.append(pack("crane", "slate", "crane", "tears"), 4);
+        awaitWrites(store);
+        assertTrue(store.needsCompaction(3));
+
+        // Words learned while the compaction is queued or running go after it
+        CountDownLatch compacted = new CountDownLatch(1);
+        store.compact(pack("crane", "slate", "tears"), compacted::countDown);
+        store.append(pack("adieu"), 1);
+        awaitWrites(store);
+
+        assertTrue(compacted.await(WRITE_TIMEOUT_MS, TimeUnit.MILLISECONDS));
+        assertArrayEquals(pack("crane", "slate", "tears", "adieu"), new LearnedWordStore(logFile).load());
+        assertFalse(new File(directory, logFile.getName() + ".tmp").exists());
+    }
+
+    @Test
+    public void failedCompaction_keepsLogAndSkipsCallback() throws Exception {
+        LearnedWordStore store = new LearnedWordStore(logFile);
+        store.append(pack("crane", "slate", "crane"), 3);
+        awaitWrites(store);
+
+        // The temporary file cannot be created where a directory is in the way
+        assertTrue(new File(directory, logFile.getName() + ".tmp").mkdir());
+
+        CountDownLatch compacted = new CountDownLatch(1);
+        store.compact(pack("crane", "slate"), compacted::countDown);
+        awaitWrites(store);
+
+        assertEquals(1, compacted.getCount());
+        assertArrayEquals(pack("crane", "slate", "crane"), new LearnedWordStore(logFile).load());
+    }
+
+    private static void deleteRecursively(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                deleteRecursively(child);
+            }
+        }
+        file.delete();
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.wordlegame;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks what {@link WordConstraints} learns from feedback, in particular from repeated letters
+ */
+public class WordConstraintsTest {
+
+    private static WordConstraints after(String... guessesAndAnswer) {
+        WordConstraints constraints = new WordConstraints();
+        int answer = PackedWord.pack(guessesAndAnswer[guessesAndAnswer.length - 1]);
+        for (int i = 0; i < guessesAndAnswer.length - 1; i++) {
+            int guess = PackedWord.pack(guessesAndAnswer[i]);
+            constraints.apply(guess, WordleScorer.score(guess, answer));
+        }
+        return constraints;
+    }
+
+    private static int letter(char c) {
+        return c - 'a';
+    }
+
+    private static boolean allowedAt(WordConstraints constraints, int pos, char c) {
+        return (constraints.getAllowedLetters(pos) & (1 << letter(c))) != 0;
+    }
+
+    private static boolean matches(WordConstraints constraints, String word) {
+        return constraints.matches(PackedWord.pack(word));
+    }
+
+    @Test
+    public void noFeedback_matchesEverything() {
+        WordConstraints constraints = new WordConstraints();
+        assertTrue(matches(constraints, "crane"));
+        assertTrue(matches(constraints, "eerie"));
+        assertEquals(0, constraints.getMinCount(letter('e')));
+        assertEquals(PackedWord.WORD_LENGTH, constraints.getMaxCount(letter('e')));
+    }
+
+    @Test
+    public void absentCopy_capsCountExactly() {
+        // "speed" against "abide": the first 'e' is present, the second absent, so exactly one 'e'
+        WordConstraints constraints = after("speed", "abide");
+
+        assertEquals(1, constraints.getMinCount(letter('e')));
+        assertEquals(1, constraints.getMaxCount(letter('e')));
+        assertFalse(allowedAt(constraints, 2, 'e'));
+        assertFalse(allowedAt(constraints, 3, 'e'));
+        assertTrue(allowedAt(constraints, 0, 'e'));
+
+        // The 'e' is not excluded outright, only capped
+        assertEquals(0, constraints.getExcludedLetters() & (1 << letter('e')));
+        assertNotEquals(0, constraints.getRequiredLetters() & (1 << letter('e')));
+        assertNotEquals(0, constraints.getExcludedLetters() & (1 << letter('s')));
+        assertNotEquals(0, constraints.getExcludedLetters() & (1 << letter('p')));
+
+        assertTrue(matches(constraints, "abide"));
+        assertFalse(matches(constraints, "elide")); // Two 'e's
+        assertFalse(matches(constraints, "ideal")); // 'e' at position 2
+        assertFalse(matches(constraints, "bribe")); // No 'd'
+    }
+
+    @Test
+    public void correctCopiesAndAbsentCopy_fixCountAndPositions() {
+        // "lolly" against "hello": two correct 'l's and an absent one, so exactly two
+        WordConstraints constraints = after("lolly", "hello");
+
+        assertEquals(2, constraints.getMinCount(letter('l')));
+        assertEquals(2, constraints.getMaxCount(letter('l')));
+        assertEquals(1 << letter('l'), constraints.getAllowedLetters(2));
+        assertEquals(1 << letter('l'), constraints.getAllowedLetters(3));
+        assertFalse(allowedAt(constraints, 0, 'l'));
+        assertFalse(allowedAt(constraints, 1, 'o'));
+        assertNotEquals(0, constraints.getExcludedLetters() & (1 << letter('y')));
+
+        assertTrue(matches(constraints, "hello"));
+        assertTrue(matches(constraints, "oella"));
+        assertFalse(matches(constraints, "oelll")); // A third 'l'
+        assertFalse(matches(constraints, "hollo")); // 'o' where it was already marked present
+        assertFalse(matches(constraints, "kelly")); // No 'o'
+    }
+
+    @Test
+    public void repeatedAnswerLetter_keepsMinimumAcrossGuesses() {
+        // "eerie" against "there": two 'e's found and one absent, so exactly two
+        WordConstraints constraints = after("eerie", "there");
+        assertEquals(2, constraints.getMinCount(letter('e')));
+        assertEquals(2, constraints.getMaxCount(letter('e')));
+
+        // A later guess with a single 'e' must not lower the minimum
+        int guess = PackedWord.pack("crane");
+        constraints.apply(guess, WordleScorer.score(guess, PackedWord.pack("there")));
+        assertEquals(2, constraints.getMinCount(letter('e')));
+        assertTrue(matches(constraints, "there"));
+        assertTrue(matches(constraints, "where")); // Gives the same feedback for both guesses
+        assertFalse(matches(constraints, "theme")); // No 'r'
+    }
+
+    @Test
+    public void presentWithoutAbsentCopy_leavesMaximumOpen() {
+        // A single found 'e' with no absent copy only sets a minimum
+        WordConstraints constraints = after("crane", "there");
+        assertEquals(1, constraints.getMinCount(letter('e')));
+        assertEquals(PackedWord.WORD_LENGTH, constraints.getMaxCount(letter('e')));
+        assertTrue(matches(constraints, "there"));
+    }
+
+    @Test
+    public void arrayRoundTrip_preservesMatches() {
+        Random random = new Random(7);
+        String letters = "aeilnorst";
+        String[] histories = {
+                "speed abide", "lolly hello", "eerie there", "geese prone",
+                "crane slate tears", "alloy lolly loyal", "sissy tryst assts"};
+
+        for (String history : histories) {
+            WordConstraints constraints = after(history.split(" "));
+            WordConstraints restored = WordConstraints.fromArray(constraints.toArray());
+            WordConstraints copied = constraints.copy();
+
+            assertEquals(constraints.getRequiredLetters(), restored.getRequiredLetters());
+            assertEquals(constraints.getExcludedLetters(), restored.getExcludedLetters());
+            for (int pos = 0; pos < PackedWord.WORD_LENGTH; pos++) {
+                assertEquals(constraints.getAllowedLetters(pos), restored.getAllowedLetters(pos));
+            }
+            for (int letter = 0; letter < 26; letter++) {
+                assertEquals(constraints.getMinCount(letter), restored.getMinCount(letter));
+                assertEquals(constraints.getMaxCount(letter), restored.getMaxCount(letter));
+            }
+
+            for (int i = 0; i < 5000; i++) {
+                char[] word = new char[PackedWord.WORD_LENGTH];
+                for (int pos = 0; pos < word.length; pos++) {
+                    word[pos] = letters.charAt(random.nextInt(letters.length()));
+                }
+                int packed = PackedWord.pack(new String(word));
+                assertEquals(history + " " + new String(word), constraints.matches(packed), restored.matches(packed));
+                assertEquals(history + " " + new String(word), constraints.matches(packed), copied.matches(packed));
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void fromArray_rejectsWrongLength() {
+        WordConstraints.fromArray(new int[WordConstraints.SERIALIZED_LENGTH - 1]);
+    }
+}
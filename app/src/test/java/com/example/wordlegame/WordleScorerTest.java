@@ -0,0 +1,47 @@
+package com.example.wordlegame;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks {@link WordleScorer} feedback, including repeated letters
+ */
+public class WordleScorerTest {
+
+    private static String feedback(String guess, String answer) {
+        int pattern = WordleScorer.score(PackedWord.pack(guess), PackedWord.pack(answer));
+        StringBuilder codes = new StringBuilder();
+        for (int pos = 0; pos < PackedWord.WORD_LENGTH; pos++) {
+            codes.append(WordleScorer.codeAt(pattern, pos));
+        }
+        return codes.toString();
+    }
+
+    @Test
+    public void exactMatch_isAllCorrect() {
+        assertEquals(WordleScorer.ALL_CORRECT,
+                WordleScorer.score(PackedWord.pack("crane"), PackedWord.pack("CRANE")));
+    }
+
+    @Test
+    public void distinctLetters() {
+        assertEquals("00000", feedback("fjord", "laugh"));
+        assertEquals("21101", feedback("crane", "caper"));
+    }
+
+    @Test
+    public void repeatedGuessLetter_onlyMarkedForCopiesInAnswer() {
+        // One 'e' in the answer, so only the first extra 'e' is present
+        assertEquals("00101", feedback("speed", "abide"));
+        // A correct 'e' uses up the answer's only copy
+        assertEquals("00002", feedback("geese", "prone"));
+        // Correct 'l's are matched first, leaving none for the leading 'l'
+        assertEquals("01220", feedback("lolly", "hello"));
+    }
+
+    @Test
+    public void repeatedAnswerLetter() {
+        assertEquals("10102", feedback("eerie", "there"));
+    }
+}